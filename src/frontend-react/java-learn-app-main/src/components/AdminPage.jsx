@@ -37,7 +37,7 @@ class AdminPage extends React.Component {
       const { pageNumber, pageSize } = this.state;
 
       GoodService.getAllGoodsByPages(pageSize, pageNumber).then((res) => {
-         this.setState({ allGoods: res.data });
+         this.setState({ allGoods: res.data.content });
       });
 
       GoodService.getTotalAmount().then((res) => {
@@ -52,7 +52,7 @@ class AdminPage extends React.Component {
 
        if(pageNumber !== 1) {
           GoodService.getAllGoodsByPages(pageSize, pageNumber - 1).then((res) => {
-             this.setState({ allGoods: res.data });
+             this.setState({ allGoods: res.data.content });
              this.setState({ filteredByIdGoods : [] });
              this.setState({ filteredByTitleGoods : [] });
              this.setState({ filteredByPriceGoods : [] });
@@ -72,7 +72,7 @@ class AdminPage extends React.Component {
       const { pageSize } = this.state;
 
       GoodService.getAllGoodsByPages(pageSize, pageNumber).then((res) => {
-         this.setState({ allGoods: res.data });
+         this.setState({ allGoods: res.data.content });
          this.setState({ filteredByIdGoods : [] });
          this.setState({ filteredByTitleGoods : [] });
          this.setState({ filteredByPriceGoods : [] });
@@ -89,7 +89,7 @@ class AdminPage extends React.Component {
 
       if(pageNumber <= pagesCount) {
          GoodService.getAllGoodsByPages(pageSize, +pageNumber + 1).then((res) => {
-            this.setState({ allGoods: res.data } );
+            this.setState({ allGoods: res.data.content } );
             this.setState({ filteredByIdGoods : [] });
             this.setState({ filteredByTitleGoods : [] });
             this.setState({ filteredByPriceGoods : [] });
@@ -153,7 +153,7 @@ class AdminPage extends React.Component {
 
       if (searchValue === '') {
          GoodService.getAllSortedGoodsByPages(field, pageSize, pageNumber).then((res) => {
-            this.setState({ allGoods: res.data })
+            this.setState({ allGoods: res.data.content })
             this.setState({ filteredByIdGoods : [] });
             this.setState({ filteredByTitleGoods : [] });
             this.setState({ filteredByPriceGoods : [] });
@@ -162,19 +162,19 @@ class AdminPage extends React.Component {
       }
 
       GoodService.getAllSortedGoodsSearchedById(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByIdGoods: res.data });
+         this.setState({ filteredByIdGoods: res.data.content });
       })
 
       GoodService.getAllSortedGoodsSearchedByTitle(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByTitleGoods: res.data });
+         this.setState({ filteredByTitleGoods: res.data.content });
       })
 
       GoodService.getAllSortedGoodsSearchedByPrice(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByPriceGoods: res.data });
+         this.setState({ filteredByPriceGoods: res.data.content });
       })
 
       GoodService.getAllSortedGoodsSearchedByDescription(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByDescriptionGoods: res.data });
+         this.setState({ filteredByDescriptionGoods: res.data.content });
       })
    }
 
@@ -183,7 +183,7 @@ class AdminPage extends React.Component {
 
       if (searchValue === '') {
          GoodService.getAllDescendingSortedGoodsByPages(field, pageSize, pageNumber).then((res) => {
-            this.setState({ allGoods: res.data })
+            this.setState({ allGoods: res.data.content })
             this.setState({ filteredByIdGoods : [] });
             this.setState({ filteredByTitleGoods : [] });
             this.setState({ filteredByPriceGoods : [] });
@@ -192,19 +192,19 @@ class AdminPage extends React.Component {
       }
 
       GoodService.getAllDescendingSortedGoodsSearchedById(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByIdGoods: res.data });
+         this.setState({ filteredByIdGoods: res.data.content });
       })
 
       GoodService.getAllDescendingSortedGoodsSearchedByTitle(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByTitleGoods: res.data });
+         this.setState({ filteredByTitleGoods: res.data.content });
       })
 
       GoodService.getAllDescendingSortedGoodsSearchedByPrice(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByPriceGoods: res.data });
+         this.setState({ filteredByPriceGoods: res.data.content });
       })
 
       GoodService.getAllDescendingSortedGoodsSearchedByDescription(searchValue, field, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByDescriptionGoods: res.data });
+         this.setState({ filteredByDescriptionGoods: res.data.content });
       })
    }
 
@@ -216,7 +216,7 @@ class AdminPage extends React.Component {
 
       if (searchValue === '') {
          GoodService.getAllGoodsByPages(pageSize, pageNumber).then((res) => {
-            this.setState({ allGoods: res.data });
+            this.setState({ allGoods: res.data.content });
             this.setState({ filteredByIdGoods : [] });
             this.setState({ filteredByTitleGoods : [] });
             this.setState({ filteredByPriceGoods : [] });
@@ -225,11 +225,11 @@ class AdminPage extends React.Component {
       }
 
       GoodService.getAllGoodsSearchedById(searchValue, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByIdGoods: res.data });
+         this.setState({ filteredByIdGoods: res.data.content });
       })
 
       GoodService.getAllGoodsSearchedByTitle(searchValue, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByTitleGoods: res.data });
+         this.setState({ filteredByTitleGoods: res.data.content });
          this.setState({ searchError: [] })
       }).catch(err => {
             if (err.response) {
@@ -238,11 +238,11 @@ class AdminPage extends React.Component {
       })
 
       GoodService.getAllGoodsSearchedByPrice(searchValue, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByPriceGoods: res.data });
+         this.setState({ filteredByPriceGoods: res.data.content });
       })
 
       GoodService.getAllGoodsSearchedByDescription(searchValue, pageSize, pageNumber).then((res) => {
-         this.setState({ filteredByDescriptionGoods: res.data });
+         this.setState({ filteredByDescriptionGoods: res.data.content });
       })
    }
 
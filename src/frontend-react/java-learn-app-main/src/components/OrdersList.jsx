@@ -28,7 +28,7 @@ class OrdersList extends React.Component {
       const { pageNumber, pageSize } = this.state;
 
       OrderService.getAllOrdersByPages(pageSize, pageNumber).then((res) => {
-          this.setState({ allOrders: res.data });
+          this.setState({ allOrders: res.data.content });
       });
 
       OrderService.getTotalAmount().then((res) => {
@@ -43,7 +43,7 @@ class OrdersList extends React.Component {
 
       if(pageNumber !== 1) {
          OrderService.getAllOrdersByPages(pageSize, pageNumber - 1).then((res) => {
-            this.setState({ allOrders: res.data });
+            this.setState({ allOrders: res.data.content });
             this.setState({ pageNumber: pageNumber - 1});
 
             if(this.state.pageNumber - 1 > 1) {
@@ -59,7 +59,7 @@ class OrdersList extends React.Component {
       const { pageSize } = this.state;
 
       OrderService.getAllOrdersByPages(pageSize, pageNumber).then((res) => {
-         this.setState({ allOrders: res.data });
+         this.setState({ allOrders: res.data.content });
          this.setState({ pageNumber: pageNumber });
       });
    };
@@ -72,7 +72,7 @@ class OrdersList extends React.Component {
 
       if(pageNumber <= pagesCount) {
          OrderService.getAllOrdersByPages(pageSize, +pageNumber + 1).then((res) => {
-            this.setState({ allOrders: res.data });
+            this.setState({ allOrders: res.data.content });
             this.setState({ pageNumber: +pageNumber + 1 });
             this.setState({ currentPage: pageNumber + numberOfPageChanges });
          })
@@ -107,7 +107,7 @@ class OrdersList extends React.Component {
       const { pageSize, pageNumber } = this.state;
 
       OrderService.getAllSortedOrdersByPages(field, pageSize, pageNumber).then((res) => {
-         this.setState({ allOrders: res.data })
+         this.setState({ allOrders: res.data.content })
       });
    }
 
@@ -115,7 +115,7 @@ class OrdersList extends React.Component {
       const { pageSize, pageNumber } = this.state;
 
       OrderService.getAllDescSortedOrdersByPages(field, pageSize, pageNumber).then((res) => {
-         this.setState({ allOrders: res.data })
+         this.setState({ allOrders: res.data.content })
       });
    }
 
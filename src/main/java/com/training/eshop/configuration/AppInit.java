@@ -9,7 +9,7 @@ public class AppInit extends AbstractAnnotationConfigDispatcherServletInitialize
 
     @Override
     protected Class<?>[] getRootConfigClasses() {
-        return new Class[]{SecurityConfig.class, DataConfig.class, MailConfig.class};
+        return new Class[]{SecurityConfig.class, DataConfig.class, MailConfig.class, SchedulingConfig.class, MetricsConfig.class};
     }
 
     @Override
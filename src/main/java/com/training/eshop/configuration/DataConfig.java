@@ -1,10 +1,12 @@
 package com.training.eshop.configuration;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -13,8 +15,10 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import javax.persistence.EntityManager;
-import javax.persistence.EntityManagerFactory;
+import javax.persistence.SharedCacheMode;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 @Configuration
@@ -34,6 +38,42 @@ public class DataConfig implements WebMvcConfigurer {
     @Value("${hibernate.dialect}")
     private String dialect;
 
+    @Value("${hibernate.id.optimizer.pooled.preferred}")
+    private String idOptimizer;
+
+    @Value("${hibernate.jdbc.batch_size}")
+    private String batchSize;
+
+    @Value("${hibernate.order_inserts}")
+    private String orderInserts;
+
+    @Value("${hibernate.order_updates}")
+    private String orderUpdates;
+
+    @Value("${hibernate.jdbc.batch_versioned_data}")
+    private String batchVersionedData;
+
+    @Value("${hibernate.cache.use_second_level_cache}")
+    private String useSecondLevelCache;
+
+    @Value("${hibernate.cache.use_query_cache}")
+    private String useQueryCache;
+
+    @Value("${hibernate.cache.region.factory_class}")
+    private String cacheRegionFactory;
+
+    @Value("${hibernate.javax.cache.provider}")
+    private String cacheProvider;
+
+    @Value("${hibernate.javax.cache.uri}")
+    private String cacheConfigUri;
+
+    @Value("${hibernate.javax.cache.missing_cache_strategy}")
+    private String missingCacheStrategy;
+
+    @Value("${hibernate.generate_statistics}")
+    private String generateStatistics;
+
     @Value("${db.driver}")
     private String dbDriver;
 
@@ -46,16 +86,107 @@ public class DataConfig implements WebMvcConfigurer {
     @Value("${db.password}")
     private String dbPassword;
 
+    @Value("${db.replica.URL}")
+    private String replicaUrl;
+
+    @Value("${db.replica.userName}")
+    private String replicaUsername;
+
+    @Value("${db.replica.password}")
+    private String replicaPassword;
+
+    @Value("${db.pool.name}")
+    private String poolName;
+
+    @Value("${db.replica.pool.name}")
+    private String replicaPoolName;
+
+    @Value("${db.pool.minimumIdle}")
+    private int minimumIdle;
+
+    @Value("${db.pool.maximumPoolSize}")
+    private int maximumPoolSize;
+
+    @Value("${db.pool.connectionTimeout}")
+    private long connectionTimeout;
+
+    @Value("${db.pool.idleTimeout}")
+    private long idleTimeout;
+
+    @Value("${db.pool.maxLifetime}")
+    private long maxLifetime;
+
+    @Value("${db.pool.leakDetectionThreshold}")
+    private long leakDetectionThreshold;
+
+    @Value("${db.prepareThreshold}")
+    private String prepareThreshold;
+
+    @Value("${db.preparedStatementCacheQueries}")
+    private String preparedStatementCacheQueries;
+
+    @Value("${db.preparedStatementCacheSizeMiB}")
+    private String preparedStatementCacheSizeMiB;
+
+    @Value("${db.reWriteBatchedInserts}")
+    private String reWriteBatchedInserts;
+
     @Bean
-    public DriverManagerDataSource getDataSource() {
-        DriverManagerDataSource bds = new DriverManagerDataSource();
+    @Primary
+    public DataSource getDataSource() {
+        return new LazyConnectionDataSourceProxy(routingDataSource());
+    }
+
+    @Bean
+    public ReadOnlyRoutingDataSource routingDataSource() {
+        Map<Object, Object> dataSources = new HashMap<>();
+
+        dataSources.put(ReadOnlyRoutingDataSource.PRIMARY, primaryDataSource());
+        dataSources.put(ReadOnlyRoutingDataSource.REPLICA, replicaDataSource());
 
-        bds.setDriverClassName(dbDriver);
-        bds.setUrl(dbUrl);
-        bds.setUsername(dbUsername);
-        bds.setPassword(dbPassword);
+        ReadOnlyRoutingDataSource routingDataSource = new ReadOnlyRoutingDataSource();
 
-        return bds;
+        routingDataSource.setTargetDataSources(dataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource());
+
+        return routingDataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource() {
+        return createPooledDataSource(poolName, dbUrl, dbUsername, dbPassword, false);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource() {
+        return createPooledDataSource(replicaPoolName, replicaUrl, replicaUsername, replicaPassword, true);
+    }
+
+    private HikariDataSource createPooledDataSource(String name, String url, String username, String password,
+                                                    boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+
+        config.setDriverClassName(dbDriver);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setReadOnly(readOnly);
+
+        config.setPoolName(name);
+        config.setMinimumIdle(minimumIdle);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setIdleTimeout(idleTimeout);
+        config.setMaxLifetime(maxLifetime);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.setRegisterMbeans(true);
+
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        config.addDataSourceProperty("reWriteBatchedInserts", reWriteBatchedInserts);
+
+        return new HikariDataSource(config);
     }
 
     private Properties hibernateProperties() {
@@ -64,15 +195,22 @@ public class DataConfig implements WebMvcConfigurer {
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", hbm2ddlAuto);
         hibernateProperties.setProperty("hibernate.hbm2ddl.import_files", hbm2ddlImport);
         hibernateProperties.setProperty("hibernate.dialect", dialect);
+        hibernateProperties.setProperty("hibernate.id.optimizer.pooled.preferred", idOptimizer);
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", batchSize);
+        hibernateProperties.setProperty("hibernate.order_inserts", orderInserts);
+        hibernateProperties.setProperty("hibernate.order_updates", orderUpdates);
+        hibernateProperties.setProperty("hibernate.jdbc.batch_versioned_data", batchVersionedData);
+        hibernateProperties.setProperty("hibernate.cache.use_second_level_cache", useSecondLevelCache);
+        hibernateProperties.setProperty("hibernate.cache.use_query_cache", useQueryCache);
+        hibernateProperties.setProperty("hibernate.cache.region.factory_class", cacheRegionFactory);
+        hibernateProperties.setProperty("hibernate.javax.cache.provider", cacheProvider);
+        hibernateProperties.setProperty("hibernate.javax.cache.uri", cacheConfigUri);
+        hibernateProperties.setProperty("hibernate.javax.cache.missing_cache_strategy", missingCacheStrategy);
+        hibernateProperties.setProperty("hibernate.generate_statistics", generateStatistics);
 
         return hibernateProperties;
     }
 
-    @Bean
-    public EntityManager entityManager(EntityManagerFactory entityManagerFactory) {
-        return entityManagerFactory.createEntityManager();
-    }
-
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
         JpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
@@ -83,6 +221,7 @@ public class DataConfig implements WebMvcConfigurer {
         factoryBean.setPackagesToScan(ENTITY_PATH);
         factoryBean.setJpaVendorAdapter(vendorAdapter);
         factoryBean.setJpaProperties(hibernateProperties());
+        factoryBean.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE);
 
         return factoryBean;
     }
@@ -0,0 +1,21 @@
+package com.training.eshop.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.export.annotation.AnnotationMBeanExporter;
+import org.springframework.jmx.support.RegistrationPolicy;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public AnnotationMBeanExporter mbeanExporter() {
+        AnnotationMBeanExporter exporter = new AnnotationMBeanExporter();
+
+        exporter.setRegistrationPolicy(RegistrationPolicy.REPLACE_EXISTING);
+        exporter.setAutodetectMode(MBeanExporter.AUTODETECT_ASSEMBLER);
+
+        return exporter;
+    }
+}
@@ -3,10 +3,16 @@ package com.training.eshop.configuration;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 import org.springframework.web.servlet.config.annotation.*;
@@ -16,11 +22,26 @@ import org.thymeleaf.spring5.view.ThymeleafViewResolver;
 
 @Configuration
 @EnableWebMvc
-@ComponentScan(value = "com/training/eshop")
+// the root context already holds the data sources, services and other configurations, so only the web layer
+// is scanned here, otherwise a second pair of connection pools would be opened for the controllers
+@ComponentScan(value = "com/training/eshop", useDefaultFilters = false, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ANNOTATION, classes = {Controller.class, ControllerAdvice.class}))
+@PropertySource("classpath:storage/storage.properties")
 public class WebConfig implements ApplicationContextAware, WebMvcConfigurer {
 
     private ApplicationContext applicationContext;
 
+    @Value("${storage.upload.in-memory-threshold}")
+    private int uploadInMemoryThreshold;
+
+    @Value("${storage.upload.max-file-size}")
+    private long uploadMaxFileSize;
+
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer webPropertyConfig() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
@@ -59,7 +80,12 @@ public class WebConfig implements ApplicationContextAware, WebMvcConfigurer {
 
     @Bean(name = "multipartResolver")
     public MultipartResolver getMultipartResolver() {
-        return new CommonsMultipartResolver();
+        CommonsMultipartResolver multipartResolver = new CommonsMultipartResolver();
+
+        multipartResolver.setMaxInMemorySize(uploadInMemoryThreshold);
+        multipartResolver.setMaxUploadSizePerFile(uploadMaxFileSize);
+
+        return multipartResolver;
     }
 
     @Bean
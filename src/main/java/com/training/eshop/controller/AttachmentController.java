@@ -1,19 +1,31 @@
 package com.training.eshop.controller;
 
 import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.dto.AttachmentSummaryDto;
+import com.training.eshop.service.AttachmentArchiveService;
 import com.training.eshop.service.AttachmentService;
+import com.training.eshop.service.ThumbnailService;
 import com.training.eshop.service.ValidationService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -21,7 +33,17 @@ import java.util.List;
 @RequestMapping(value = "/orders/{orderId}/attachments")
 public class AttachmentController {
 
+    private static final String BYTES = "bytes";
+    private static final String ETAG_FORMAT = "\"%s\"";
+    private static final String THUMBNAIL_ETAG_FORMAT = "\"%s-thumbnail\"";
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+    private static final String ZIP_FILE_NAME_FORMAT = "order-%s-attachments.zip";
+    private static final String CONTENT_RANGE_FORMAT = "bytes %s-%s/%s";
+    private static final String UNSATISFIED_RANGE_FORMAT = "bytes */%s";
+
     private final AttachmentService attachmentService;
+    private final AttachmentArchiveService attachmentArchiveService;
+    private final ThumbnailService thumbnailService;
     private final ValidationService validationService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -37,32 +59,95 @@ public class AttachmentController {
 
         attachmentService.save(attachmentDto, orderId);
 
-        return new ResponseEntity<>(attachmentService.getAllByOrderId(orderId), HttpStatus.OK);
+        return new ResponseEntity<>(attachmentService.getAllByOrderIdAfterWrite(orderId), HttpStatus.OK);
     }
 
     @GetMapping("/{attachmentId}")
-    public ResponseEntity<AttachmentDto> getById(@PathVariable("attachmentId") Long attachmentId,
-                                                 @PathVariable("orderId") Long orderId,
-                                                 HttpServletResponse response) throws IOException {
+    public void getById(@PathVariable("attachmentId") Long attachmentId,
+                        @PathVariable("orderId") Long orderId,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
         AttachmentDto attachmentDto = attachmentService.getById(attachmentId, orderId);
 
-        response.setContentType("application/octet-stream");
+        String eTag = String.format(ETAG_FORMAT, attachmentDto.getHash());
+        long lastModified = attachmentService.getLastModified(attachmentDto);
+
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachmentDto.getName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentType(Optional.ofNullable(attachmentDto.getContentType())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+
+        try (FileChannel channel = attachmentService.getContentChannel(attachmentDto)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            HttpRange range = getRequestedRange(request, eTag);
+
+            if (range != null) {
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, String.format(UNSATISFIED_RANGE_FORMAT, length));
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+
+                    return;
+                }
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, String.format(CONTENT_RANGE_FORMAT, start, end, length));
+            }
+
+            response.setContentLengthLong(end - start + 1);
+
+            transfer(channel, start, end - start + 1, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    @GetMapping("/zip")
+    public void getZip(@PathVariable("orderId") Long orderId,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(ZIP_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(String.format(ZIP_FILE_NAME_FORMAT, orderId))
+                .build()
+                .toString());
+
+        attachmentArchiveService.writeZip(orderId, response.getOutputStream());
+    }
 
-        String headerKey = "Content-Disposition";
-        String headerValue = "attachment; filename = " + attachmentDto.getName();
+    @GetMapping("/{attachmentId}/thumbnail")
+    public void getThumbnail(@PathVariable("attachmentId") Long attachmentId,
+                             @PathVariable("orderId") Long orderId,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        AttachmentDto attachmentDto = attachmentService.getById(attachmentId, orderId);
 
-        response.setHeader(headerKey, headerValue);
+        String eTag = String.format(THUMBNAIL_ETAG_FORMAT, attachmentDto.getHash());
 
-        try (ServletOutputStream outputStream = response.getOutputStream()) {
-            outputStream.write(attachmentDto.getFile());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
         }
 
-        return ResponseEntity.ok(attachmentDto);
+        try (FileChannel channel = thumbnailService.getThumbnail(attachmentDto)) {
+            response.setContentType(MediaType.IMAGE_PNG_VALUE);
+            response.setContentLengthLong(channel.size());
+
+            transfer(channel, 0, channel.size(), Channels.newChannel(response.getOutputStream()));
+        }
     }
 
     @GetMapping
-    public ResponseEntity<List<AttachmentDto>> getAllByOrderId(@PathVariable("orderId") Long orderId) {
-        List<AttachmentDto> attachments = attachmentService.getAllByOrderId(orderId);
+    public ResponseEntity<List<AttachmentSummaryDto>> getAllByOrderId(@PathVariable("orderId") Long orderId) {
+        List<AttachmentSummaryDto> attachments = attachmentService.getAllByOrderId(orderId);
 
         return ResponseEntity.ok(attachments);
     }
@@ -72,7 +157,37 @@ public class AttachmentController {
                                         @PathVariable("orderId") Long orderId) {
         attachmentService.deleteByName(attachmentName, orderId);
 
-        return new ResponseEntity<>(attachmentService.getAllByOrderId(orderId), HttpStatus.OK);
+        return new ResponseEntity<>(attachmentService.getAllByOrderIdAfterWrite(orderId), HttpStatus.OK);
+    }
+
+    private HttpRange getRequestedRange(HttpServletRequest request, String eTag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        long transferred = 0;
+
+        while (transferred < count) {
+            long bytes = channel.transferTo(position + transferred, count - transferred, target);
+
+            if (bytes <= 0) {
+                break;
+            }
+
+            transferred += bytes;
+        }
     }
 
     private boolean checkErrors(List<String> fileUploadErrors) {
@@ -3,6 +3,7 @@ package com.training.eshop.controller;
 import com.training.eshop.dto.GoodAdminCreationDto;
 import com.training.eshop.dto.GoodAdminViewDto;
 import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.model.Good;
 import com.training.eshop.service.GoodService;;
 import com.training.eshop.service.ValidationService;
@@ -50,15 +51,22 @@ public class GoodController {
                                             @RequestParam(value = "sortField", defaultValue = "default") String sortField,
                                             @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
                                             @RequestParam(value = "pageSize", defaultValue = "25") int pageSize,
-                                            @RequestParam(value = "pageNumber", defaultValue = "1") int pageNumber) {
+                                            @RequestParam(value = "pageNumber", defaultValue = "1") int pageNumber,
+                                            @RequestParam(value = "after", required = false) String after) {
         String errorMessage = validationService.getWrongSearchParameterError(parameter);
 
         if (checkErrors(errorMessage)) {
             return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
         }
 
-        List<GoodAdminViewDto> goods = goodService.getAllForAdmin(searchField, parameter, sortField,
-                sortDirection, pageSize, pageNumber);
+        String cursorErrorMessage = validationService.getWrongGoodCursorError(after, sortField);
+
+        if (checkErrors(cursorErrorMessage)) {
+            return new ResponseEntity<>(cursorErrorMessage, HttpStatus.BAD_REQUEST);
+        }
+
+        PageDto<GoodAdminViewDto> goods = goodService.getAllForAdmin(searchField, parameter, sortField,
+                sortDirection, pageSize, pageNumber, after);
 
         return ResponseEntity.ok(goods);
     }
@@ -3,8 +3,10 @@ package com.training.eshop.controller;
 import com.training.eshop.dto.GoodBuyerDto;
 import com.training.eshop.dto.OrderAdminViewDto;
 import com.training.eshop.dto.OrderBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.exception.OrderNotPlacedException;
 import com.training.eshop.model.Order;
+import com.training.eshop.model.enums.ExportFormat;
 import com.training.eshop.service.*;
 import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.LogManager;
@@ -17,6 +19,9 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.List;
 
@@ -31,8 +36,10 @@ public class OrderController {
     private static final Logger LOGGER = LogManager.getLogger(OrderController.class.getName());
 
     private static final String ORDER_NOT_PLACED = "Your order not placed yet";
+    private static final String EXPORT_FILE_NAME = "attachment; filename=\"orders.%s\"";
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
     private final ValidationService validationService;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -50,22 +57,43 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderAdminViewDto>> getAll(@RequestParam(value = "sortField", defaultValue = "default") String sortField,
-                                                          @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
-                                                          @RequestParam(value = "pageSize", defaultValue = "25") int pageSize,
-                                                          @RequestParam(value = "pageNumber", defaultValue = "1") int pageNumber) {
-        List<OrderAdminViewDto> orders = orderService.getAll(sortField, sortDirection, pageSize, pageNumber);
+    public ResponseEntity<?> getAll(@RequestParam(value = "sortField", defaultValue = "default") String sortField,
+                                    @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+                                    @RequestParam(value = "pageSize", defaultValue = "25") int pageSize,
+                                    @RequestParam(value = "pageNumber", defaultValue = "1") int pageNumber,
+                                    @RequestParam(value = "after", required = false) String after) {
+        String cursorErrorMessage = validationService.getWrongOrderCursorError(after, sortField);
+
+        if (!cursorErrorMessage.isEmpty()) {
+            return new ResponseEntity<>(cursorErrorMessage, HttpStatus.BAD_REQUEST);
+        }
+
+        PageDto<OrderAdminViewDto> orders = orderService.getAll(sortField, sortDirection, pageSize, pageNumber, after);
 
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/export")
+    public void export(@RequestParam(value = "format", defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                String.format(EXPORT_FILE_NAME, exportFormat.getExtension()));
+
+        orderExportService.export(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderBuyerDto> getById(@PathVariable("id") Long id,
-                                                 @RequestParam(value = "buttonValue", defaultValue = "default") String buttonValue) {
+                                                 @RequestParam(value = "buttonValue", defaultValue = "default") String buttonValue,
+                                                 Principal principal) {
         OrderBuyerDto order = orderService.getById(id);
 
         if (buttonValue.equals("LogOut")) {
-            orderService.updateDataAfterPlacingOrder(order);
+            orderService.updateDataAfterPlacingOrder(order, principal.getName());
         }
 
         return ResponseEntity.ok(order);
@@ -81,13 +109,13 @@ public class OrderController {
 
         switch (buttonValue) {
             case "Add Goods":
-                orderService.addGoodToOrder(goodBuyerDto);
+                orderService.addGoodToOrder(goodBuyerDto, principal.getName());
 
-                return new ResponseEntity<>(orderService.getCartGoods(), HttpStatus.OK);
+                return new ResponseEntity<>(orderService.getCartGoods(principal.getName()), HttpStatus.OK);
             case "Remove Goods":
-                orderService.deleteGoodFromOrder(goodBuyerDto);
+                orderService.deleteGoodFromOrder(goodBuyerDto, principal.getName());
 
-                return new ResponseEntity<>(orderService.getCartGoods(), HttpStatus.OK);
+                return new ResponseEntity<>(orderService.getCartGoods(principal.getName()), HttpStatus.OK);
 
             case "Submit":
                 if (goodBuyerDto.getTitle() != null && goodBuyerDto.getPrice() != null) {
@@ -107,7 +135,7 @@ public class OrderController {
                 }
         }
 
-        orderService.updateDataForCancelledOrder(order);
+        orderService.updateDataForCancelledOrder(order, principal.getName());
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
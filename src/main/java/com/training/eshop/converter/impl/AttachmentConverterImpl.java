@@ -20,7 +20,10 @@ public class AttachmentConverterImpl implements AttachmentConverter {
 
         attachmentDto.setId(attachment.getId());
         attachmentDto.setName(attachment.getName());
-        attachmentDto.setFile(attachment.getFile());
+        attachmentDto.setSize(attachment.getSize());
+        attachmentDto.setHash(attachment.getHash());
+        attachmentDto.setContentType(attachment.getContentType());
+        attachmentDto.setPath(attachment.getPath());
 
         return attachmentDto;
     }
@@ -33,7 +36,10 @@ public class AttachmentConverterImpl implements AttachmentConverter {
 
         attachment.setId(attachmentDto.getId());
         attachment.setName(attachmentDto.getName());
-        attachment.setFile(attachmentDto.getFile());
+        attachment.setSize(attachmentDto.getSize());
+        attachment.setHash(attachmentDto.getHash());
+        attachment.setContentType(attachmentDto.getContentType());
+        attachment.setPath(attachmentDto.getPath());
         attachment.setOrder(order);
 
         return attachment;
@@ -3,7 +3,6 @@ package com.training.eshop.converter.impl;
 import com.training.eshop.converter.GoodConverter;
 import com.training.eshop.converter.OrderConverter;
 import com.training.eshop.dto.GoodBuyerDto;
-import com.training.eshop.dto.OrderAdminViewDto;
 import com.training.eshop.dto.OrderBuyerDto;
 import com.training.eshop.model.Good;
 import com.training.eshop.model.Order;
@@ -32,18 +31,6 @@ public class OrderConverterImpl implements OrderConverter {
         return orderBuyerDto;
     }
 
-    @Override
-    public OrderAdminViewDto convertToOrderAdminViewDto(Order order) {
-        OrderAdminViewDto orderDto = new OrderAdminViewDto();
-
-        orderDto.setId(order.getId());
-        orderDto.setTotalPrice(order.getTotalPrice());
-        orderDto.setUser(order.getUser().getName());
-        orderDto.setDescription(order.getDescription());
-
-        return orderDto;
-    }
-
     @Override
     public List<GoodBuyerDto> convertToListGoodDto(List<Good> goods) {
         return goods
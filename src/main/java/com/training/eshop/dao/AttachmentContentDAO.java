@@ -0,0 +1,10 @@
+package com.training.eshop.dao;
+
+public interface AttachmentContentDAO {
+
+    long addReference(String hash, String path, long size);
+
+    long removeReference(String hash);
+
+    boolean isReferenced(String hash);
+}
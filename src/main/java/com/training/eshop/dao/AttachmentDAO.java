@@ -1,5 +1,7 @@
 package com.training.eshop.dao;
 
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.dto.AttachmentSummaryDto;
 import com.training.eshop.model.Attachment;
 
 import java.util.List;
@@ -10,7 +12,11 @@ public interface AttachmentDAO {
 
     Attachment getByAttachmentIdAndOrderId(Long attachmentId, Long orderId);
 
-    List<Attachment> getAllByOrderId(Long orderId);
+    List<AttachmentSummaryDto> getAllByOrderId(Long orderId);
+
+    List<AttachmentDto> getAllContentsByOrderId(Long orderId);
+
+    List<Attachment> getAllByAttachmentNameAndOrderId(String attachmentName, Long orderId);
 
     void deleteByAttachmentNameAndOrderId(String attachmentName, Long orderId);
 }
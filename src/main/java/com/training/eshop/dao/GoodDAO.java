@@ -1,20 +1,42 @@
 package com.training.eshop.dao;
 
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.dto.GoodAdminViewDto;
+import com.training.eshop.dto.GoodBuyerDto;
 import com.training.eshop.model.Good;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface GoodDAO {
 
     void save(Good good);
 
-    List<Good> getAll();
+    List<GoodBuyerDto> getAllForBuyer();
 
     List<Good> getAllBySearch(String searchField, String searchParameter);
 
+    List<GoodAdminViewDto> getPage(PageCriteria criteria);
+
+    long getCount(PageCriteria criteria);
+
     Good getById(Long id);
 
+    Optional<Good> getByTitleAndPrice(String title, BigDecimal price);
+
+    List<GoodAdminViewDto> getAllByIds(List<Long> ids);
+
     void update(Good good);
 
+    int decreaseQuantity(Long id, long amount);
+
+    List<Long> increaseQuantity(Long id, long amount);
+
+    List<Long> increaseQuantities(Map<Long, Long> amounts);
+
+    List<Long> deleteSoldOut();
+
     void deleteById(Long id);
 }
@@ -1,8 +1,12 @@
 package com.training.eshop.dao;
 
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.dto.OrderAdminViewDto;
+import com.training.eshop.dto.OrderExportDto;
 import com.training.eshop.model.Order;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderDAO {
 
@@ -10,5 +14,13 @@ public interface OrderDAO {
 
     Order getById(Long id);
 
+    Order getByIdWithGoods(Long id);
+
     List<Order> getAll();
+
+    List<OrderAdminViewDto> getPage(PageCriteria criteria);
+
+    long getCount(PageCriteria criteria);
+
+    void exportAll(Consumer<OrderExportDto> consumer);
 }
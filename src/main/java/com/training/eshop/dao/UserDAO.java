@@ -12,5 +12,5 @@ public interface UserDAO {
 
     List<User> getAll();
 
-    List<User> getAllAdmins();
+    List<String> getAllAdminEmails();
 }
@@ -0,0 +1,93 @@
+package com.training.eshop.dao.impl;
+
+import com.training.eshop.dao.AttachmentContentDAO;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+@Repository
+public class AttachmentContentDAOImpl implements AttachmentContentDAO {
+
+    private static final String HASH = "hash";
+    private static final String PATH = "path";
+    private static final String SIZE = "size";
+    private static final String QUERY_ADD_CONTENT_REFERENCE = "insert into attachment_content "
+            + "(content_hash, storage_path, file_size, reference_count) values (:hash, :path, :size, 1) "
+            + "on conflict (content_hash) do update set reference_count = attachment_content.reference_count + 1 "
+            + "returning reference_count";
+    private static final String QUERY_LOCK_CONTENT_REFERENCE = "select reference_count from attachment_content "
+            + "where content_hash = :hash for update";
+    private static final String QUERY_REMOVE_CONTENT_REFERENCE = "update attachment_content "
+            + "set reference_count = reference_count - 1 where content_hash = :hash returning reference_count";
+    private static final String QUERY_DELETE_CONTENT = "delete from attachment_content where content_hash = :hash";
+    private static final String QUERY_COUNT_CONTENT = "select count(*) from attachment_content "
+            + "where content_hash = :hash";
+    private static final String QUERY_LOCK_CONTENT_HASH = "select 1 from pg_advisory_xact_lock(hashtext(:hash))";
+    private static final String CONTENT_QUERY_SPACE = "attachment_content";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long addReference(String hash, String path, long size) {
+        lockHash(hash);
+
+        Query query = entityManager.createNativeQuery(QUERY_ADD_CONTENT_REFERENCE)
+                .setParameter(HASH, hash)
+                .setParameter(PATH, path)
+                .setParameter(SIZE, size);
+
+        return ((Number) withContentQuerySpace(query).getSingleResult()).longValue();
+    }
+
+    @Override
+    public long removeReference(String hash) {
+        Query lockQuery = entityManager.createNativeQuery(QUERY_LOCK_CONTENT_REFERENCE)
+                .setParameter(HASH, hash);
+
+        long referenceCount = withContentQuerySpace(lockQuery).getResultList().stream()
+                .findFirst()
+                .map(count -> ((Number) count).longValue())
+                .orElse(0L);
+
+        if (referenceCount > 1) {
+            Query query = entityManager.createNativeQuery(QUERY_REMOVE_CONTENT_REFERENCE)
+                    .setParameter(HASH, hash);
+
+            return ((Number) withContentQuerySpace(query).getSingleResult()).longValue();
+        }
+
+        Query deleteQuery = entityManager.createNativeQuery(QUERY_DELETE_CONTENT)
+                .setParameter(HASH, hash);
+
+        withContentQuerySpace(deleteQuery).executeUpdate();
+
+        return 0L;
+    }
+
+    @Override
+    public boolean isReferenced(String hash) {
+        lockHash(hash);
+
+        Query query = entityManager.createNativeQuery(QUERY_COUNT_CONTENT)
+                .setParameter(HASH, hash);
+
+        return ((Number) withContentQuerySpace(query).getSingleResult()).longValue() > 0;
+    }
+
+    // serializes uploads of a hash with the check before its file is deleted, even when no row exists to lock
+    private void lockHash(String hash) {
+        Query query = entityManager.createNativeQuery(QUERY_LOCK_CONTENT_HASH)
+                .setParameter(HASH, hash);
+
+        withContentQuerySpace(query).getSingleResult();
+    }
+
+    private NativeQuery<?> withContentQuerySpace(Query query) {
+        return query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(CONTENT_QUERY_SPACE);
+    }
+}
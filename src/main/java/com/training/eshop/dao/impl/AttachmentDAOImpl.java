@@ -1,8 +1,9 @@
 package com.training.eshop.dao.impl;
 
 import com.training.eshop.dao.AttachmentDAO;
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.dto.AttachmentSummaryDto;
 import com.training.eshop.model.Attachment;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -10,18 +11,21 @@ import javax.persistence.PersistenceContext;
 import java.util.List;
 
 @Repository
-@AllArgsConstructor
 public class AttachmentDAOImpl implements AttachmentDAO {
 
     private static final String ORDER_ID = "orderId";
     private static final String ATTACHMENT_ID = "attachmentId";
     private static final String ATTACHMENT_NAME = "attachmentName";
-    private static final String QUERY_SELECT_FROM_ATTACHMENT_BY_ORDER_ID = "from Attachment a where a.order.id =:orderId";
+    private static final String QUERY_SELECT_ATTACHMENT_SUMMARIES_BY_ORDER_ID = "select new com.training.eshop.dto.AttachmentSummaryDto"
+            + "(a.id, a.name, a.size, a.contentType, a.hash) from Attachment a where a.order.id =:orderId order by a.id";
+    private static final String QUERY_SELECT_ATTACHMENT_CONTENTS_BY_ORDER_ID = "select new com.training.eshop.dto.AttachmentDto"
+            + "(a.id, a.name, a.size, a.hash, a.contentType, a.path) from Attachment a where a.order.id =:orderId order by a.id";
     private static final String QUERY_SELECT_FROM_ATTACHMENT_BY_ORDER_ID_AND_ATTACHMENT_ID = "from Attachment a where a.order.id =:orderId and a.id =:attachmentId";
+    private static final String QUERY_SELECT_FROM_ATTACHMENT_BY_ORDER_ID_AND_ATTACHMENT_NAME = "from Attachment a where a.order.id =:orderId and a.name =:attachmentName";
     private static final String QUERY_DELETE_FROM_ATTACHMENT_BY_ORDER_ID_AND_ATTACHMENT_NAME = "delete from Attachment a where a.order.id =:orderId and a.name =:attachmentName";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(Attachment attachment) {
@@ -37,8 +41,23 @@ public class AttachmentDAOImpl implements AttachmentDAO {
     }
 
     @Override
-    public List<Attachment> getAllByOrderId(Long orderId) {
-        return entityManager.createQuery(QUERY_SELECT_FROM_ATTACHMENT_BY_ORDER_ID, Attachment.class)
+    public List<AttachmentSummaryDto> getAllByOrderId(Long orderId) {
+        return entityManager.createQuery(QUERY_SELECT_ATTACHMENT_SUMMARIES_BY_ORDER_ID, AttachmentSummaryDto.class)
+                .setParameter(ORDER_ID, orderId)
+                .getResultList();
+    }
+
+    @Override
+    public List<AttachmentDto> getAllContentsByOrderId(Long orderId) {
+        return entityManager.createQuery(QUERY_SELECT_ATTACHMENT_CONTENTS_BY_ORDER_ID, AttachmentDto.class)
+                .setParameter(ORDER_ID, orderId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Attachment> getAllByAttachmentNameAndOrderId(String attachmentName, Long orderId) {
+        return entityManager.createQuery(QUERY_SELECT_FROM_ATTACHMENT_BY_ORDER_ID_AND_ATTACHMENT_NAME, Attachment.class)
+                .setParameter(ATTACHMENT_NAME, attachmentName)
                 .setParameter(ORDER_ID, orderId)
                 .getResultList();
     }
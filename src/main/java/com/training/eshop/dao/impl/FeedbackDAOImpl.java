@@ -2,7 +2,6 @@ package com.training.eshop.dao.impl;
 
 import com.training.eshop.dao.FeedbackDAO;
 import com.training.eshop.model.Feedback;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -10,7 +9,6 @@ import javax.persistence.PersistenceContext;
 import java.util.List;
 
 @Repository
-@AllArgsConstructor
 public class FeedbackDAOImpl implements FeedbackDAO {
 
     private static final String ORDER_ID = "orderId";
@@ -20,7 +18,7 @@ public class FeedbackDAOImpl implements FeedbackDAO {
     private static final String QUERY_SELECT_FROM_FEEDBACK_BY_ORDER_ID_AND_FEEDBACK_ID = "from Feedback f where f.order.id =:orderId and f.id =:feedbackId";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(Feedback feedBack) {
@@ -1,32 +1,69 @@
 package com.training.eshop.dao.impl;
 
 import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.dao.query.GoodSearchField;
+import com.training.eshop.dao.query.GoodSortField;
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.dao.query.PageQuery;
+import com.training.eshop.dto.GoodAdminViewDto;
+import com.training.eshop.dto.GoodBuyerDto;
 import com.training.eshop.exception.ProductNotFoundException;
 import com.training.eshop.model.Good;
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
-import java.util.*;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
-@AllArgsConstructor
 public class GoodDAOImpl implements GoodDAO {
 
-    private static final Map<String, List<Good>> SEARCH_MAP = new HashMap<>();
-    private static final String QUERY_SELECT_FROM_GOOD = "from Good";
-    private static final String QUERY_SELECT_FROM_GOOD_FOR_BUYER = "from Good order by title";
-    private static final String QUERY_SELECT_FROM_GOOD_SEARCHED_BY_ID = "from Good g where str(g.id) like concat('%',?0,'%')";
-    private static final String QUERY_SELECT_FROM_GOOD_SEARCHED_BY_TITLE = "from Good g where lower(g.title) like lower(concat('%',?0,'%'))";
-    private static final String QUERY_SELECT_FROM_GOOD_SEARCHED_BY_PRICE = "from Good g where str(g.price) like concat('%',?0,'%')";
-    private static final String QUERY_SELECT_FROM_GOOD_SEARCHED_BY_DESCRIPTION = "from Good g where lower(g.description) like lower(concat('%',?0,'%'))";
+    private static final String QUERY_SELECT_GOODS_FOR_BUYER = "select new com.training.eshop.dto.GoodBuyerDto"
+            + "(g.title, g.price) from Good g where g.deleted = false order by g.title";
+    private static final String QUERY_SELECT_GOOD_PAGE = "select g from Good g";
+    private static final String QUERY_SELECT_GOOD_ADMIN_VIEW_PAGE = "select new com.training.eshop.dto.GoodAdminViewDto"
+            + "(g.id, g.title, g.price, g.quantity, g.description) from Good g";
+    private static final String QUERY_COUNT_GOODS = "select count(g) from Good g";
+    private static final String GOOD_ID_PATH = "g.id";
+    private static final String GOOD_IS_NOT_DELETED = "g.deleted = false";
+    private static final String QUERY_SELECT_FROM_GOOD_BY_TITLE_AND_PRICE = "from Good g "
+            + "where g.title = :title and g.price = :price and g.deleted = false order by g.id";
+    private static final String QUERY_SELECT_GOOD_ADMIN_VIEWS_BY_IDS = QUERY_SELECT_GOOD_ADMIN_VIEW_PAGE
+            + " where g.id in :ids and g.deleted = false";
+    private static final String QUERY_DECREASE_GOOD_QUANTITY = "update goods set quantity = quantity - :amount "
+            + "where id = :id and quantity >= :amount and deleted = false";
+    private static final String QUERY_INCREASE_GOOD_QUANTITY = "with restocked as "
+            + "(select id, deleted from goods where id = :id for update) "
+            + "update goods g set quantity = coalesce(g.quantity, 0) + :amount, "
+            + "deleted = g.deleted and coalesce(g.quantity, 0) + :amount < 1 "
+            + "from restocked r where g.id = r.id returning g.id, r.deleted and not g.deleted";
+    private static final String QUERY_INCREASE_GOOD_QUANTITIES = "with restocked as "
+            + "(select id, deleted from goods where id in :ids order by id for update) "
+            + "update goods g set quantity = coalesce(g.quantity, 0) + case g.id %1$s else 0 end, "
+            + "deleted = g.deleted and coalesce(g.quantity, 0) + case g.id %1$s else 0 end < 1 "
+            + "from restocked r where g.id = r.id returning g.id, r.deleted and not g.deleted";
+    private static final String STOCK_QUERY_SPACE = "goods_stock";
+    private static final String QUERY_SELECT_SOLD_OUT_GOOD_IDS = "select g.id from Good g "
+            + "where g.deleted = false and (g.quantity is null or g.quantity < 1)";
+    private static final String QUERY_SOFT_DELETE_SOLD_OUT_GOODS = "update Good g set g.deleted = true "
+            + "where g.id in :ids and (g.quantity is null or g.quantity < 1)";
     private static final String QUERY_DELETE_FROM_GOOD_BY_GOOD_ID = "delete from Good g where g.id =:id";
+    private static final String PRODUCT_NOT_FOUND = "Good with id %s not found";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(Good good) {
@@ -34,33 +71,62 @@ public class GoodDAOImpl implements GoodDAO {
     }
 
     @Override
-    public List<Good> getAll() {
-        return entityManager.createQuery(QUERY_SELECT_FROM_GOOD_FOR_BUYER, Good.class)
+    public List<GoodBuyerDto> getAllForBuyer() {
+        return entityManager.createQuery(QUERY_SELECT_GOODS_FOR_BUYER, GoodBuyerDto.class)
+                .setHint(QueryHints.CACHEABLE, true)
                 .getResultList();
     }
 
     @Override
     public List<Good> getAllBySearch(String searchField, String searchParameter) {
+        PageQuery pageQuery = new PageQuery(QUERY_SELECT_GOOD_PAGE, QUERY_COUNT_GOODS, GOOD_ID_PATH);
 
-        SEARCH_MAP.put("id", createQueryWithSearchedParameter(QUERY_SELECT_FROM_GOOD_SEARCHED_BY_ID, searchParameter));
-        SEARCH_MAP.put("title", createQueryWithSearchedParameter(QUERY_SELECT_FROM_GOOD_SEARCHED_BY_TITLE, searchParameter));
-        SEARCH_MAP.put("price", createQueryWithSearchedParameter(QUERY_SELECT_FROM_GOOD_SEARCHED_BY_PRICE, searchParameter));
-        SEARCH_MAP.put("description", createQueryWithSearchedParameter(QUERY_SELECT_FROM_GOOD_SEARCHED_BY_DESCRIPTION, searchParameter));
-        SEARCH_MAP.put("default", createQueryWithSearchedParameter(QUERY_SELECT_FROM_GOOD, ""));
+        pageQuery.where(GOOD_IS_NOT_DELETED);
 
-        return SEARCH_MAP.entrySet().stream()
-                .filter(pair -> pair.getKey().equals(searchField))
-                .map(Map.Entry::getValue)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        GoodSearchField.of(searchField).apply(pageQuery, searchParameter);
+
+        return pageQuery.getAll(entityManager, Good.class);
+    }
+
+    @Override
+    public List<GoodAdminViewDto> getPage(PageCriteria criteria) {
+        return createPageQuery(criteria, QUERY_SELECT_GOOD_ADMIN_VIEW_PAGE)
+                .getPage(entityManager, GoodAdminViewDto.class, criteria.getPageSize(), criteria.getPageNumber());
+    }
+
+    @Override
+    public long getCount(PageCriteria criteria) {
+        return createPageQuery(criteria, QUERY_SELECT_GOOD_ADMIN_VIEW_PAGE)
+                .getCount(entityManager);
     }
 
     @Override
     public Good getById(Long id) {
-        return getAll().stream()
-                .filter(good -> id.equals(good.getId()))
-                .findAny()
-                .orElseThrow(() -> new ProductNotFoundException(String.format("Good with id %s not found", id)));
+        return Optional.ofNullable(entityManager.find(Good.class, id))
+                .orElseThrow(() -> new ProductNotFoundException(String.format(PRODUCT_NOT_FOUND, id)));
+    }
+
+    @Override
+    public Optional<Good> getByTitleAndPrice(String title, BigDecimal price) {
+        return entityManager.createQuery(QUERY_SELECT_FROM_GOOD_BY_TITLE_AND_PRICE, Good.class)
+                .setParameter("title", title)
+                .setParameter("price", price)
+                .setHint(QueryHints.CACHEABLE, true)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<GoodAdminViewDto> getAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return entityManager.createQuery(QUERY_SELECT_GOOD_ADMIN_VIEWS_BY_IDS, GoodAdminViewDto.class)
+                .setParameter("ids", ids)
+                .getResultList();
     }
 
     @Override
@@ -68,6 +134,65 @@ public class GoodDAOImpl implements GoodDAO {
         entityManager.merge(good);
     }
 
+    @Override
+    public int decreaseQuantity(Long id, long amount) {
+        Query query = entityManager.createNativeQuery(QUERY_DECREASE_GOOD_QUANTITY)
+                .setParameter("id", id)
+                .setParameter("amount", amount);
+
+        return executeStockUpdate(query, Collections.singleton(id));
+    }
+
+    @Override
+    public List<Long> increaseQuantity(Long id, long amount) {
+        Query query = entityManager.createNativeQuery(QUERY_INCREASE_GOOD_QUANTITY)
+                .setParameter("id", id)
+                .setParameter("amount", amount);
+
+        return executeRestock(query, Collections.singleton(id));
+    }
+
+    @Override
+    public List<Long> increaseQuantities(Map<Long, Long> amounts) {
+        if (amounts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder cases = new StringBuilder();
+
+        for (int i = 0; i < amounts.size(); i++) {
+            cases.append("when :id").append(i).append(" then :amount").append(i).append(" ");
+        }
+
+        Query query = entityManager.createNativeQuery(String.format(QUERY_INCREASE_GOOD_QUANTITIES, cases))
+                .setParameter("ids", amounts.keySet());
+
+        int index = 0;
+
+        for (Map.Entry<Long, Long> entry : amounts.entrySet()) {
+            query.setParameter("id" + index, entry.getKey())
+                    .setParameter("amount" + index, entry.getValue());
+
+            index++;
+        }
+
+        return executeRestock(query, amounts.keySet());
+    }
+
+    @Override
+    public List<Long> deleteSoldOut() {
+        List<Long> ids = entityManager.createQuery(QUERY_SELECT_SOLD_OUT_GOOD_IDS, Long.class)
+                .getResultList();
+
+        if (!ids.isEmpty()) {
+            entityManager.createQuery(QUERY_SOFT_DELETE_SOLD_OUT_GOODS)
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+        }
+
+        return ids;
+    }
+
     @Override
     public void deleteById(Long id) {
         entityManager.createQuery(QUERY_DELETE_FROM_GOOD_BY_GOOD_ID)
@@ -75,13 +200,64 @@ public class GoodDAOImpl implements GoodDAO {
                 .executeUpdate();
     }
 
-    private List<Good> createQueryWithSearchedParameter(String searchQuery, String searchParameter) {
-        Query query = entityManager.createQuery(searchQuery);
+    private int executeStockUpdate(Query query, Collection<Long> ids) {
+        int updated = query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .executeUpdate();
+
+        evictFromCacheAfterCompletion(ids);
+
+        return updated;
+    }
+
+    // returns the sold-out goods the restock has put back on sale
+    private List<Long> executeRestock(Query query, Collection<Long> ids) {
+        List<?> rows = query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .getResultList();
+
+        evictFromCacheAfterCompletion(ids);
+
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .filter(row -> Boolean.TRUE.equals(row[1]))
+                .map(row -> ((Number) row[0]).longValue())
+                .collect(Collectors.toList());
+    }
+
+    private void evictFromCacheAfterCompletion(Collection<Long> ids) {
+        evictFromCache(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictFromCache(ids);
+                }
+            });
+        }
+    }
+
+    private void evictFromCache(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+
+        ids.forEach(id -> cache.evict(Good.class, id));
+    }
+
+    private PageQuery createPageQuery(PageCriteria criteria, String selectClause) {
+        PageQuery pageQuery = new PageQuery(selectClause, QUERY_COUNT_GOODS, GOOD_ID_PATH)
+                .where(GOOD_IS_NOT_DELETED);
+
+        GoodSearchField.of(criteria.getSearchField()).apply(pageQuery, criteria.getSearchParameter());
+
+        GoodSortField sortField = GoodSortField.of(criteria.getSortField());
+
+        pageQuery.orderBy(sortField.getPath(), criteria.isDescending());
 
-        if (!(searchQuery.equals(QUERY_SELECT_FROM_GOOD))) {
-            query.setParameter(0, searchParameter);
+        if (criteria.hasCursor()) {
+            pageQuery.after(sortField.parseKey(criteria.getCursorKey()), criteria.getCursorId());
         }
 
-        return query.getResultList();
+        return pageQuery;
     }
 }
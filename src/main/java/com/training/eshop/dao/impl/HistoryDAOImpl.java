@@ -2,7 +2,6 @@ package com.training.eshop.dao.impl;
 
 import com.training.eshop.dao.HistoryDAO;
 import com.training.eshop.model.History;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -10,7 +9,6 @@ import javax.persistence.PersistenceContext;
 import java.util.List;
 
 @Repository
-@AllArgsConstructor
 public class HistoryDAOImpl implements HistoryDAO {
 
     private static final String QUERY_SELECT_FROM_HISTORY = "from History";
@@ -18,7 +16,7 @@ public class HistoryDAOImpl implements HistoryDAO {
     private static final String QUERY_SELECT_FROM_HISTORY_BY_ORDER_ID_ORDERED_BY_DATE = "from History h where h.order.id =:id order by date DESC";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(History history) {
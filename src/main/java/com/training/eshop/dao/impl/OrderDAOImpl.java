@@ -1,24 +1,48 @@
 package com.training.eshop.dao.impl;
 
 import com.training.eshop.dao.OrderDAO;
+import com.training.eshop.dao.query.OrderSortField;
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.dao.query.PageQuery;
+import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.OrderAdminViewDto;
+import com.training.eshop.dto.OrderExportDto;
 import com.training.eshop.exception.OrderNotFoundException;
 import com.training.eshop.model.Order;
-import lombok.AllArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
-@AllArgsConstructor
 public class OrderDAOImpl implements OrderDAO {
 
     private static final String QUERY_SELECT_FROM_ORDER = "from Order";
+    private static final String QUERY_SELECT_ORDER_ADMIN_VIEW_PAGE = "select new com.training.eshop.dto.OrderAdminViewDto" +
+            "(o.id, o.totalPrice, u.name, o.description) from Order o join o.user u";
+    private static final String QUERY_COUNT_ORDERS = "select count(o) from Order o join o.user u";
+    private static final String ORDER_ID_PATH = "o.id";
+    private static final String QUERY_SELECT_ORDERS_FOR_EXPORT = "select o.id, u.name, o.totalPrice, o.description, "
+            + "g.title, g.price from Order o left join o.user u left join o.goods g order by o.id";
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String ORDER_GOODS_GRAPH = "Order.goods";
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
     private static final String ORDER_NOT_FOUND = "Order with id %s not found";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(Order order) {
@@ -27,9 +51,16 @@ public class OrderDAOImpl implements OrderDAO {
 
     @Override
     public Order getById(Long id) {
-        return getAll().stream()
-                .filter(order -> id.equals(order.getId()))
-                .findAny()
+        return Optional.ofNullable(entityManager.find(Order.class, id))
+                .orElseThrow(() -> new OrderNotFoundException(String.format(ORDER_NOT_FOUND, id)));
+    }
+
+    @Override
+    public Order getByIdWithGoods(Long id) {
+        Map<String, Object> hints = Collections.singletonMap(FETCH_GRAPH_HINT,
+                entityManager.getEntityGraph(ORDER_GOODS_GRAPH));
+
+        return Optional.ofNullable(entityManager.find(Order.class, id, hints))
                 .orElseThrow(() -> new OrderNotFoundException(String.format(ORDER_NOT_FOUND, id)));
     }
 
@@ -38,4 +69,59 @@ public class OrderDAOImpl implements OrderDAO {
         return entityManager.createQuery(QUERY_SELECT_FROM_ORDER, Order.class)
                 .getResultList();
     }
+
+    @Override
+    public List<OrderAdminViewDto> getPage(PageCriteria criteria) {
+        OrderSortField sortField = OrderSortField.of(criteria.getSortField());
+
+        PageQuery pageQuery = new PageQuery(QUERY_SELECT_ORDER_ADMIN_VIEW_PAGE, QUERY_COUNT_ORDERS, ORDER_ID_PATH)
+                .orderBy(sortField.getPath(), criteria.isDescending());
+
+        if (criteria.hasCursor()) {
+            pageQuery.after(sortField.parseKey(criteria.getCursorKey()), criteria.getCursorId());
+        }
+
+        return pageQuery.getPage(entityManager, OrderAdminViewDto.class, criteria.getPageSize(),
+                criteria.getPageNumber());
+    }
+
+    @Override
+    public long getCount(PageCriteria criteria) {
+        return new PageQuery(QUERY_SELECT_ORDER_ADMIN_VIEW_PAGE, QUERY_COUNT_ORDERS, ORDER_ID_PATH)
+                .getCount(entityManager);
+    }
+
+    @Override
+    public void exportAll(Consumer<OrderExportDto> consumer) {
+        Query<Object[]> query = entityManager.unwrap(Session.class)
+                .createQuery(QUERY_SELECT_ORDERS_FOR_EXPORT, Object[].class)
+                .setFetchSize(EXPORT_FETCH_SIZE)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            OrderExportDto order = null;
+
+            while (rows.next()) {
+                Long id = (Long) rows.get(0);
+
+                if (order == null || !order.getId().equals(id)) {
+                    if (order != null) {
+                        consumer.accept(order);
+                    }
+
+                    order = new OrderExportDto(id, (String) rows.get(1), (BigDecimal) rows.get(2),
+                            (String) rows.get(3), new ArrayList<>());
+                }
+
+                if (rows.get(4) != null) {
+                    order.getGoods().add(new GoodBuyerDto((String) rows.get(4), (BigDecimal) rows.get(5)));
+                }
+            }
+
+            if (order != null) {
+                consumer.accept(order);
+            }
+        }
+    }
 }
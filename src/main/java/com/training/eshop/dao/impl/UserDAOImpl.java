@@ -3,7 +3,7 @@ package com.training.eshop.dao.impl;
 import com.training.eshop.dao.UserDAO;
 import com.training.eshop.exception.UserNotFoundException;
 import com.training.eshop.model.User;
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -11,15 +11,15 @@ import javax.persistence.PersistenceContext;
 import java.util.List;
 
 @Repository
-@AllArgsConstructor
 public class UserDAOImpl implements UserDAO {
 
     private static final String QUERY_SELECT_FROM_USER = "from User";
-    private static final String QUERY_SELECT_ALL_ADMINS_FROM_USERS = "from User u where u.role = 'ROLE_ADMIN'";
+    private static final String QUERY_SELECT_FROM_USER_BY_EMAIL = "from User u where u.email =:email";
+    private static final String QUERY_SELECT_ALL_ADMIN_EMAILS = "select u.email from User u where u.role = 'ROLE_ADMIN'";
     private static final String USER_NOT_FOUND = "User with login %s not found";
 
     @PersistenceContext
-    private final EntityManager entityManager;
+    private EntityManager entityManager;
 
     @Override
     public void save(User user) {
@@ -28,8 +28,11 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public User getByLogin(String login) {
-        return getAll().stream()
-                .filter(user -> login.equals(user.getEmail()))
+        return entityManager.createQuery(QUERY_SELECT_FROM_USER_BY_EMAIL, User.class)
+                .setParameter("email", login)
+                .setHint(QueryHints.CACHEABLE, true)
+                .getResultList()
+                .stream()
                 .findAny()
                 .orElseThrow(() -> new UserNotFoundException(String.format(USER_NOT_FOUND, login)));
     }
@@ -41,8 +44,8 @@ public class UserDAOImpl implements UserDAO {
     }
 
     @Override
-    public List<User> getAllAdmins() {
-        return entityManager.createQuery(QUERY_SELECT_ALL_ADMINS_FROM_USERS, User.class)
+    public List<String> getAllAdminEmails() {
+        return entityManager.createQuery(QUERY_SELECT_ALL_ADMIN_EMAILS, String.class)
                 .getResultList();
     }
 }
@@ -0,0 +1,80 @@
+package com.training.eshop.dao.query;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+public enum GoodSearchField {
+    ID("id") {
+        @Override
+        void applyParameter(PageQuery pageQuery, String parameter) {
+            if (parameter.matches(ID_FORMAT)) {
+                pageQuery.where("g.id = :id", "id", Long.valueOf(parameter));
+            } else {
+                pageQuery.where(NO_MATCH);
+            }
+        }
+    },
+    TITLE("title") {
+        @Override
+        void applyParameter(PageQuery pageQuery, String parameter) {
+            pageQuery.where("lower(g.title) like :title", "title", toContainsPattern(parameter));
+        }
+    },
+    PRICE("price") {
+        @Override
+        void applyParameter(PageQuery pageQuery, String parameter) {
+            if (parameter.matches(PRICE_FORMAT)) {
+                BigDecimal priceFrom = new BigDecimal(parameter);
+                BigDecimal priceTo = priceFrom.add(BigDecimal.ONE.movePointLeft(priceFrom.scale()));
+
+                pageQuery.where("g.price >= :priceFrom", "priceFrom", priceFrom)
+                        .where("g.price < :priceTo", "priceTo", priceTo);
+            } else {
+                pageQuery.where(NO_MATCH);
+            }
+        }
+    },
+    DESCRIPTION("description") {
+        @Override
+        void applyParameter(PageQuery pageQuery, String parameter) {
+            pageQuery.where("lower(g.description) like :description", "description", toContainsPattern(parameter));
+        }
+    },
+    DEFAULT("default") {
+        @Override
+        void applyParameter(PageQuery pageQuery, String parameter) {
+        }
+    };
+
+    private static final String ID_FORMAT = "[0-9]{1,18}";
+    private static final String PRICE_FORMAT = "[0-9]{1,15}(\\.[0-9]{1,2})?";
+    private static final String NO_MATCH = "1 = 0";
+
+    private final String name;
+
+    GoodSearchField(String name) {
+        this.name = name;
+    }
+
+    public void apply(PageQuery pageQuery, String parameter) {
+        if (parameter != null && !parameter.isEmpty()) {
+            applyParameter(pageQuery, parameter);
+        }
+    }
+
+    abstract void applyParameter(PageQuery pageQuery, String parameter);
+
+    public static GoodSearchField of(String searchField) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equals(searchField))
+                .findAny()
+                .orElse(DEFAULT);
+    }
+
+    private static String toContainsPattern(String parameter) {
+        return "%" + parameter.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,46 @@
+package com.training.eshop.dao.query;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum GoodSortField {
+    ID("id", "g.id", null),
+    TITLE("title", "g.title", String::valueOf),
+    PRICE("price", "g.price", BigDecimal::new);
+
+    private final String name;
+    private final String path;
+    private final Function<String, Object> keyParser;
+
+    GoodSortField(String name, String path, Function<String, Object> keyParser) {
+        this.name = name;
+        this.path = path;
+        this.keyParser = keyParser;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Object parseKey(String key) {
+        return keyParser == null ? null : keyParser.apply(key);
+    }
+
+    public boolean isValidKey(String key) {
+        try {
+            parseKey(key);
+
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public static GoodSortField of(String sortField) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equals(sortField))
+                .findAny()
+                .orElse(ID);
+    }
+}
@@ -0,0 +1,46 @@
+package com.training.eshop.dao.query;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum OrderSortField {
+    ID("id", "o.id", null),
+    TOTAL_PRICE("totalPrice", "o.totalPrice", BigDecimal::new),
+    USER("user", "coalesce(u.name, '')", String::valueOf);
+
+    private final String name;
+    private final String path;
+    private final Function<String, Object> keyParser;
+
+    OrderSortField(String name, String path, Function<String, Object> keyParser) {
+        this.name = name;
+        this.path = path;
+        this.keyParser = keyParser;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Object parseKey(String key) {
+        return keyParser == null ? null : keyParser.apply(key);
+    }
+
+    public boolean isValidKey(String key) {
+        try {
+            parseKey(key);
+
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public static OrderSortField of(String sortField) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equals(sortField))
+                .findAny()
+                .orElse(ID);
+    }
+}
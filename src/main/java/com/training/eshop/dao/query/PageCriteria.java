@@ -0,0 +1,45 @@
+package com.training.eshop.dao.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCriteria {
+
+    private String searchField;
+
+    private String searchParameter;
+
+    private String sortField;
+
+    private String sortDirection;
+
+    private int pageSize;
+
+    private int pageNumber;
+
+    private String after;
+
+    public boolean isDescending() {
+        return "desc".equals(sortDirection);
+    }
+
+    public boolean hasCursor() {
+        return after != null && !after.isEmpty();
+    }
+
+    public String getCursorKey() {
+        return after.substring(0, after.lastIndexOf(','));
+    }
+
+    public Long getCursorId() {
+        return Long.valueOf(after.substring(after.lastIndexOf(',') + 1));
+    }
+}
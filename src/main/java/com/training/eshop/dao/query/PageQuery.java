@@ -0,0 +1,122 @@
+package com.training.eshop.dao.query;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PageQuery {
+
+    private static final String WHERE = " where ";
+    private static final String AND = " and ";
+    private static final String SORT_KEY = "sortKey";
+    private static final String LAST_ID = "lastId";
+
+    private final String selectClause;
+    private final String countClause;
+    private final String idPath;
+    private final List<String> predicates = new ArrayList<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    private String sortPath;
+    private boolean descending;
+    private String seekPredicate;
+
+    public PageQuery(String selectClause, String countClause, String idPath) {
+        this.selectClause = selectClause;
+        this.countClause = countClause;
+        this.idPath = idPath;
+        this.sortPath = idPath;
+    }
+
+    public PageQuery where(String predicate, String name, Object value) {
+        predicates.add(predicate);
+        parameters.put(name, value);
+
+        return this;
+    }
+
+    public PageQuery where(String predicate) {
+        predicates.add(predicate);
+
+        return this;
+    }
+
+    public PageQuery orderBy(String sortPath, boolean descending) {
+        this.sortPath = sortPath;
+        this.descending = descending;
+
+        return this;
+    }
+
+    public PageQuery after(Object sortKey, Long lastId) {
+        String operator = descending ? " < " : " > ";
+
+        if (sortPath.equals(idPath)) {
+            seekPredicate = idPath + operator + ":" + LAST_ID;
+        } else {
+            seekPredicate = "(" + sortPath + operator + ":" + SORT_KEY
+                    + " or (" + sortPath + " = :" + SORT_KEY + AND + idPath + operator + ":" + LAST_ID + "))";
+
+            parameters.put(SORT_KEY, sortKey);
+        }
+        parameters.put(LAST_ID, lastId);
+
+        return this;
+    }
+
+    public <T> List<T> getAll(EntityManager entityManager, Class<T> resultClass) {
+        TypedQuery<T> query = entityManager.createQuery(selectClause + toWhereClause(predicates) + toOrderByClause(),
+                resultClass);
+
+        parameters.forEach(query::setParameter);
+
+        return query.getResultList();
+    }
+
+    public <T> List<T> getPage(EntityManager entityManager, Class<T> resultClass, int pageSize, int pageNumber) {
+        List<String> pagePredicates = new ArrayList<>(predicates);
+
+        if (seekPredicate != null) {
+            pagePredicates.add(seekPredicate);
+        }
+
+        TypedQuery<T> query = entityManager.createQuery(selectClause + toWhereClause(pagePredicates) + toOrderByClause(),
+                resultClass);
+
+        parameters.forEach(query::setParameter);
+
+        if (seekPredicate == null) {
+            query.setFirstResult(Math.max(pageNumber - 1, 0) * pageSize);
+        }
+
+        return query.setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    public long getCount(EntityManager entityManager) {
+        TypedQuery<Long> query = entityManager.createQuery(countClause + toWhereClause(predicates), Long.class);
+
+        parameters.entrySet().stream()
+                .filter(parameter -> !SORT_KEY.equals(parameter.getKey()) && !LAST_ID.equals(parameter.getKey()))
+                .forEach(parameter -> query.setParameter(parameter.getKey(), parameter.getValue()));
+
+        return query.getSingleResult();
+    }
+
+    private String toWhereClause(List<String> wherePredicates) {
+        return wherePredicates.isEmpty() ? "" : WHERE + String.join(AND, wherePredicates);
+    }
+
+    private String toOrderByClause() {
+        String direction = descending ? " desc" : " asc";
+
+        if (sortPath.equals(idPath)) {
+            return " order by " + idPath + direction;
+        }
+
+        return " order by " + sortPath + direction + ", " + idPath + direction;
+    }
+}
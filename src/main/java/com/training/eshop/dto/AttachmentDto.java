@@ -2,11 +2,15 @@ package com.training.eshop.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AttachmentDto {
 
@@ -14,7 +18,13 @@ public class AttachmentDto {
 
     private String name;
 
+    private Long size;
+
+    private String hash;
+
+    private String contentType;
+
     @JsonIgnore
-    private byte[] file;
+    private String path;
 }
 
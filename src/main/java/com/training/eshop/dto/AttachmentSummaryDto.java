@@ -0,0 +1,30 @@
+package com.training.eshop.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class AttachmentSummaryDto {
+
+    private Long id;
+
+    private String name;
+
+    private Long size;
+
+    private String contentType;
+
+    private String checksum;
+
+    private String downloadUrl;
+
+    public AttachmentSummaryDto(Long id, String name, Long size, String contentType, String checksum) {
+        this.id = id;
+        this.name = name;
+        this.size = size;
+        this.contentType = contentType;
+        this.checksum = checksum;
+    }
+}
@@ -6,6 +6,9 @@ import java.math.BigDecimal;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
 public class GoodAdminViewDto {
 
     private Long id;
@@ -0,0 +1,24 @@
+package com.training.eshop.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OrderExportDto {
+
+    private Long id;
+
+    private String user;
+
+    private BigDecimal totalPrice;
+
+    private String description;
+
+    private List<GoodBuyerDto> goods;
+}
@@ -0,0 +1,25 @@
+package com.training.eshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDto<T> {
+
+    private List<T> content;
+
+    private long totalElements;
+
+    private int pageSize;
+
+    private int pageNumber;
+
+    private String nextCursor;
+}
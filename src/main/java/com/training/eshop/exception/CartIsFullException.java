@@ -0,0 +1,8 @@
+package com.training.eshop.exception;
+
+public class CartIsFullException extends RuntimeException {
+
+    public CartIsFullException(String message) {
+        super(message);
+    }
+}
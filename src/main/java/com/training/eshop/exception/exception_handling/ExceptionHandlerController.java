@@ -1,6 +1,8 @@
 package com.training.eshop.exception.exception_handling;
 
 import com.training.eshop.exception.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,13 +13,23 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.*;
 
 @RestControllerAdvice
+@PropertySource("classpath:storage/storage.properties")
 public class ExceptionHandlerController extends ResponseEntityExceptionHandler {
 
+    private static final String UPLOAD_SIZE_EXCEEDED = "The size of the attached file should not be greater than %s. "
+            + "Please select another file.";
+    private static final long KILOBYTE = 1024;
+    private static final long MEGABYTE = KILOBYTE * KILOBYTE;
+
+    @Value("${storage.upload.max-file-size}")
+    private long uploadMaxFileSize;
+
     @Override
     @NonNull
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
@@ -119,4 +131,32 @@ public class ExceptionHandlerController extends ResponseEntityExceptionHandler {
         info.setInfo(e.getMessage());
         return info;
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ExceptionInfo handleException(CartIsFullException e) {
+        ExceptionInfo info = new ExceptionInfo();
+        info.setInfo(e.getMessage());
+        return info;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ExceptionInfo handleException(MaxUploadSizeExceededException e) {
+        ExceptionInfo info = new ExceptionInfo();
+        info.setInfo(String.format(UPLOAD_SIZE_EXCEEDED, formatSize(uploadMaxFileSize)));
+        return info;
+    }
+
+    private String formatSize(long bytes) {
+        if (bytes > 0 && bytes % MEGABYTE == 0) {
+            return bytes / MEGABYTE + " Mb";
+        }
+
+        if (bytes > 0 && bytes % KILOBYTE == 0) {
+            return bytes / KILOBYTE + " Kb";
+        }
+
+        return bytes + " bytes";
+    }
 }
@@ -0,0 +1,65 @@
+package com.training.eshop.metrics;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ManagedResource(objectName = "com.training.eshop:type=AttachmentStorage")
+public class AttachmentStorageMetrics {
+
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong deduplicatedUploads = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+    private final AtomicLong removedContents = new AtomicLong();
+
+    public void uploaded(long size, boolean deduplicated) {
+        uploads.incrementAndGet();
+        uploadedBytes.addAndGet(size);
+
+        if (deduplicated) {
+            deduplicatedUploads.incrementAndGet();
+            savedBytes.addAndGet(size);
+        }
+    }
+
+    public void contentRemoved() {
+        removedContents.incrementAndGet();
+    }
+
+    @ManagedAttribute(description = "Files attached to orders")
+    public long getUploads() {
+        return uploads.get();
+    }
+
+    @ManagedAttribute(description = "Attached files whose content was already stored")
+    public long getDeduplicatedUploads() {
+        return deduplicatedUploads.get();
+    }
+
+    @ManagedAttribute(description = "Bytes attached to orders")
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    @ManagedAttribute(description = "Bytes not written to storage thanks to deduplication")
+    public long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    @ManagedAttribute(description = "Stored contents removed after their last attachment was deleted")
+    public long getRemovedContents() {
+        return removedContents.get();
+    }
+
+    @ManagedAttribute(description = "Attached bytes per stored byte")
+    public double getDeduplicationRatio() {
+        long attached = uploadedBytes.get();
+        long stored = attached - savedBytes.get();
+
+        return stored == 0 ? 1.0 : (double) attached / stored;
+    }
+}
@@ -0,0 +1,48 @@
+package com.training.eshop.metrics;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ManagedResource(objectName = "com.training.eshop:type=CartReservations")
+public class ReservationMetrics {
+
+    private final AtomicLong activeReservations = new AtomicLong();
+    private final AtomicLong expiredReservations = new AtomicLong();
+    private final AtomicLong reclaimedUnits = new AtomicLong();
+
+    public void reservationAdded() {
+        activeReservations.incrementAndGet();
+    }
+
+    public void reservationsRemoved(int amount) {
+        activeReservations.addAndGet(-amount);
+    }
+
+    public void reservationsExpired(int amount) {
+        activeReservations.addAndGet(-amount);
+        expiredReservations.addAndGet(amount);
+    }
+
+    public void unitsReclaimed(long amount) {
+        reclaimedUnits.addAndGet(amount);
+    }
+
+    @ManagedAttribute(description = "Goods currently held in buyers' carts")
+    public long getActiveReservations() {
+        return activeReservations.get();
+    }
+
+    @ManagedAttribute(description = "Reservations released because their time to live ran out")
+    public long getExpiredReservations() {
+        return expiredReservations.get();
+    }
+
+    @ManagedAttribute(description = "Units returned to stock from expired or evicted carts")
+    public long getReclaimedUnits() {
+        return reclaimedUnits.get();
+    }
+}
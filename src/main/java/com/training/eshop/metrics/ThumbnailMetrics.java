@@ -0,0 +1,74 @@
+package com.training.eshop.metrics;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ManagedResource(objectName = "com.training.eshop:type=Thumbnails")
+public class ThumbnailMetrics {
+
+    private final AtomicLong queuedTasks = new AtomicLong();
+    private final AtomicLong generatedThumbnails = new AtomicLong();
+    private final AtomicLong failedThumbnails = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong totalProcessingTime = new AtomicLong();
+    private final AtomicLong maxProcessingTime = new AtomicLong();
+
+    public void taskQueued() {
+        queuedTasks.incrementAndGet();
+    }
+
+    public void taskStarted() {
+        queuedTasks.decrementAndGet();
+    }
+
+    public void taskRejected() {
+        queuedTasks.decrementAndGet();
+        rejectedTasks.incrementAndGet();
+    }
+
+    public void thumbnailGenerated(long processingTime) {
+        generatedThumbnails.incrementAndGet();
+        totalProcessingTime.addAndGet(processingTime);
+        maxProcessingTime.accumulateAndGet(processingTime, Math::max);
+    }
+
+    public void thumbnailFailed() {
+        failedThumbnails.incrementAndGet();
+    }
+
+    @ManagedAttribute(description = "Thumbnail tasks waiting for a worker")
+    public long getQueueDepth() {
+        return queuedTasks.get();
+    }
+
+    @ManagedAttribute(description = "Thumbnails generated")
+    public long getGeneratedThumbnails() {
+        return generatedThumbnails.get();
+    }
+
+    @ManagedAttribute(description = "Images that could not be turned into a thumbnail")
+    public long getFailedThumbnails() {
+        return failedThumbnails.get();
+    }
+
+    @ManagedAttribute(description = "Thumbnail tasks dropped because the queue was full")
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    @ManagedAttribute(description = "Average time to generate a thumbnail, ms")
+    public double getAverageProcessingTime() {
+        long generated = generatedThumbnails.get();
+
+        return generated == 0 ? 0 : (double) totalProcessingTime.get() / generated;
+    }
+
+    @ManagedAttribute(description = "Longest time to generate a thumbnail, ms")
+    public long getMaxProcessingTime() {
+        return maxProcessingTime.get();
+    }
+}
@@ -2,13 +2,14 @@ package com.training.eshop.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
-import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "attachment")
+@Table(name = "attachment", indexes = {
+        @Index(name = "attachment_order_id_idx", columnList = "order_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -20,7 +21,7 @@ public class Attachment implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "attachmentIdSeq", sequenceName = "attachment_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "attachmentIdSeq", sequenceName = "attachment_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachmentIdSeq")
     @Column(name = "id", nullable = false)
     private Long id;
@@ -28,21 +29,31 @@ public class Attachment implements Serializable {
     @Column(name = "name", nullable = false)
     private String name;
 
-    @Lob
-    @Column(name = "file")
-    @Type(type = "org.hibernate.type.BinaryType")
-    @ToString.Exclude
+    @Column(name = "file_size", nullable = false)
+    private Long size;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "storage_path", nullable = false)
     @JsonIgnore
-    private byte[] file;
+    private String path;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY,
+            cascade = CascadeType.ALL)
     @JoinColumn(name = "order_id")
     @ToString.Exclude
     @JsonIgnore
     private Order order;
 
-    public Attachment(String name, byte[] file) {
+    public Attachment(String name, Long size, String hash, String contentType, String path) {
         this.name = name;
-        this.file = file;
+        this.size = size;
+        this.hash = hash;
+        this.contentType = contentType;
+        this.path = path;
     }
 }
@@ -0,0 +1,32 @@
+package com.training.eshop.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "attachment_content")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class AttachmentContent implements Serializable {
+
+    private static final long serialVersionUID = 3906771677381811334L;
+
+    @Id
+    @Column(name = "content_hash", nullable = false, updatable = false, length = 64)
+    private String hash;
+
+    @Column(name = "storage_path", nullable = false)
+    private String path;
+
+    @Column(name = "file_size", nullable = false)
+    private Long size;
+
+    @Column(name = "reference_count", nullable = false)
+    private Long referenceCount;
+}
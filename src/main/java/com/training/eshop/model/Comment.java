@@ -21,7 +21,7 @@ public class Comment implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "commentIdSeq", sequenceName = "comment_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "commentIdSeq", sequenceName = "comment_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "commentIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
@@ -40,7 +40,8 @@ public class Comment implements Serializable {
     @Column(name = "text")
     private String text;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY,
+            cascade = CascadeType.ALL)
     @JoinColumn(name = "order_id")
     @ToString.Exclude
     @JsonIgnore
@@ -21,7 +21,7 @@ public class Feedback implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "feedbackIdSeq", sequenceName = "feedback_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "feedbackIdSeq", sequenceName = "feedback_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbackIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
@@ -43,7 +43,8 @@ public class Feedback implements Serializable {
     @Column(name = "text")
     private String text;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY,
+            cascade = CascadeType.ALL)
     @JoinColumn(name = "order_id")
     @ToString.Exclude
     @JsonIgnore
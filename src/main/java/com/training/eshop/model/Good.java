@@ -2,6 +2,8 @@ package com.training.eshop.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -10,7 +12,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "goods")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "good")
+@Table(name = "goods", indexes = {
+        @Index(name = "goods_title_id_idx", columnList = "title, id"),
+        @Index(name = "goods_price_id_idx", columnList = "price, id"),
+        @Index(name = "goods_title_price_idx", columnList = "title, price")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -22,7 +30,7 @@ public class Good implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "goodsIdSeq", sequenceName = "goods_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "goodsIdSeq", sequenceName = "goods_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goodsIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
@@ -30,7 +38,7 @@ public class Good implements Serializable {
     @Column(name = "title", nullable = false)
     private String title;
 
-    @Column(name = "price", nullable = false)
+    @Column(name = "price", nullable = false, precision = 19, scale = 2)
     private BigDecimal price;
 
     @Column(name = "quantity")
@@ -39,16 +47,21 @@ public class Good implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER,
+    @Column(name = "deleted", nullable = false, columnDefinition = "boolean default false")
+    private boolean deleted;
+
+    @ManyToOne(fetch = FetchType.LAZY,
             cascade = CascadeType.ALL)
     @JoinColumn(name = "user_id")
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
     private User user;
 
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
-    @ManyToMany(mappedBy = "goods", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToMany(mappedBy = "goods", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Order> orders = new ArrayList<>();
 
     public Good(Long id, String title, BigDecimal price, Long quantity, String description) {
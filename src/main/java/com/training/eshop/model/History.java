@@ -22,12 +22,12 @@ public class History implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "historyIdSeq", sequenceName = "history_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "historyIdSeq", sequenceName = "history_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historyIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     @ToString.Exclude
     @JsonIgnore
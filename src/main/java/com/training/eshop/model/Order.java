@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.util.*;
 
 @Entity
-@Table(name = "orders")
+@NamedEntityGraph(name = "Order.goods", attributeNodes = @NamedAttributeNode("goods"))
+@Table(name = "orders", indexes = {
+        @Index(name = "orders_total_price_id_idx", columnList = "total_price, id"),
+        @Index(name = "orders_user_id_idx", columnList = "user_id")
+})
 @AllArgsConstructor
 @Getter
 @Setter
@@ -20,7 +24,7 @@ public class Order implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "ordersIdSeq", sequenceName = "order_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "ordersIdSeq", sequenceName = "order_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordersIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
@@ -31,17 +35,20 @@ public class Order implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER,
+    @ManyToOne(fetch = FetchType.LAZY,
             cascade = CascadeType.ALL)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
     private User user;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "order_good",
             joinColumns = @JoinColumn(name = "order_id"),
             inverseJoinColumns = @JoinColumn(name = "good_id"))
+    @EqualsAndHashCode.Exclude
     private List<Good> goods;
 
     public Order() {
@@ -3,11 +3,15 @@ package com.training.eshop.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.training.eshop.model.enums.Role;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "users")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +24,7 @@ public class User implements Serializable {
     private static final long serialVersionUID = 3906771677381811334L;
 
     @Id
-    @SequenceGenerator(name = "usersIdSeq", sequenceName = "user_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "usersIdSeq", sequenceName = "user_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usersIdSeq")
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
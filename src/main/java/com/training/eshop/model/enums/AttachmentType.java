@@ -0,0 +1,66 @@
+package com.training.eshop.model.enums;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+public enum AttachmentType {
+    PDF("application/pdf", null, 0x25, 0x50, 0x44, 0x46),
+    PNG("image/png", null, 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A),
+    JPEG("image/jpeg", null, 0xFF, 0xD8, 0xFF),
+    DOC("application/msword", ".doc", 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", ".docx", 0x50, 0x4B, 0x03, 0x04);
+
+    public static final int HEADER_LENGTH = 8;
+
+    private final String contentType;
+    private final String extension;
+    private final int[] signature;
+
+    AttachmentType(String contentType, String extension, int... signature) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static Optional<AttachmentType> detect(InputStream inputStream, String fileName) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        int length = 0;
+        int read;
+
+        while (length < HEADER_LENGTH && (read = inputStream.read(header, length, HEADER_LENGTH - length)) != -1) {
+            length += read;
+        }
+
+        int headerLength = length;
+
+        return Arrays.stream(values())
+                .filter(type -> type.matches(header, headerLength) && type.hasExtensionOf(fileName))
+                .findFirst();
+    }
+
+    // OLE2 and ZIP signatures are shared by spreadsheets, presentations and archives, so they need the extension too
+    private boolean hasExtensionOf(String fileName) {
+        return extension == null || fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(extension);
+    }
+
+    private boolean matches(byte[] header, int headerLength) {
+        if (headerLength < signature.length) {
+            return false;
+        }
+
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
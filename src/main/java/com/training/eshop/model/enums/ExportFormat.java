@@ -0,0 +1,31 @@
+package com.training.eshop.model.enums;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String format) {
+        return Arrays.stream(values())
+                .filter(exportFormat -> exportFormat.extension.equalsIgnoreCase(format))
+                .findAny()
+                .orElse(CSV);
+    }
+}
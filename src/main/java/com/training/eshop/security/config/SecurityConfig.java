@@ -68,6 +68,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/", "/auth").permitAll()
                 .antMatchers("/goods/").hasAnyRole(ADMIN)
                 .antMatchers("/add-edit/").hasAnyRole(ADMIN)
+                .antMatchers("/orders/export").hasAnyRole(ADMIN)
                 .antMatchers("/orders/**").hasAnyRole(ADMIN, BUYER)
                 .antMatchers("/ordersList/").hasAnyRole(ADMIN)
                 .anyRequest().authenticated()
@@ -0,0 +1,9 @@
+package com.training.eshop.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AttachmentArchiveService {
+
+    void writeZip(Long orderId, OutputStream outputStream) throws IOException;
+}
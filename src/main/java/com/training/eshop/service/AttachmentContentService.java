@@ -0,0 +1,6 @@
+package com.training.eshop.service;
+
+public interface AttachmentContentService {
+
+    boolean deleteIfUnreferenced(String hash, String path);
+}
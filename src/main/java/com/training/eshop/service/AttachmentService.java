@@ -1,19 +1,32 @@
 package com.training.eshop.service;
 
 import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.dto.AttachmentSummaryDto;
 import com.training.eshop.model.Attachment;
 import org.springframework.lang.NonNull;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.List;
 
 public interface AttachmentService {
 
-    List<AttachmentDto> getAllByOrderId(Long orderId);
+    List<AttachmentSummaryDto> getAllByOrderId(Long orderId);
+
+    List<AttachmentSummaryDto> getAllByOrderIdAfterWrite(Long orderId);
+
+    List<AttachmentDto> getAllContentsByOrderId(Long orderId);
 
     AttachmentDto getById(Long attachmentId, Long orderId);
 
+    InputStream getContent(AttachmentDto attachmentDto) throws IOException;
+
+    FileChannel getContentChannel(AttachmentDto attachmentDto) throws IOException;
+
+    long getLastModified(AttachmentDto attachmentDto) throws IOException;
+
     AttachmentDto getChosenAttachment(MultipartFile file) throws IOException;
 
     Attachment save(@NonNull AttachmentDto attachmentDto, Long orderId);
@@ -0,0 +1,20 @@
+package com.training.eshop.service;
+
+import com.training.eshop.model.Good;
+
+import java.util.List;
+
+public interface CartService {
+
+    List<Good> getGoods(String login);
+
+    void addGood(String login, Good good);
+
+    boolean removeGood(String login, Good good);
+
+    List<Good> clear(String login);
+
+    int getCartsAmount();
+
+    void releaseExpiredReservations();
+}
@@ -0,0 +1,19 @@
+package com.training.eshop.service;
+
+import com.training.eshop.model.Good;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface GoodIndexService {
+
+    boolean isReady();
+
+    Optional<List<Long>> search(String searchField, String parameter, String sortField, String sortDirection);
+
+    Optional<Long> findId(String title, long priceInCents);
+
+    void index(Good good);
+
+    void remove(Long id);
+}
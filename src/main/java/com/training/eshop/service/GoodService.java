@@ -3,8 +3,10 @@ package com.training.eshop.service;
 import com.training.eshop.dto.GoodAdminCreationDto;
 import com.training.eshop.dto.GoodAdminViewDto;
 import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.model.Good;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface GoodService {
@@ -13,18 +15,16 @@ public interface GoodService {
 
     List<GoodBuyerDto> getAllForBuyer();
 
-    List<GoodAdminViewDto> getAllForAdmin(String searchField, String parameter, String sortField,
-                                          String sortDirection, int pageSize, int pageNumber);
+    PageDto<GoodAdminViewDto> getAllForAdmin(String searchField, String parameter, String sortField,
+                                             String sortDirection, int pageSize, int pageNumber, String after);
 
     GoodAdminViewDto getById(Long id);
 
-    Good getByTitleAndPrice(String title, String price);
+    Good getByTitleAndPrice(String title, BigDecimal price);
 
     Good update(Long id, GoodAdminCreationDto goodDto, String login);
 
     void deleteById(Long id, String login);
 
     int getTotalAmount();
-
-    String getPriceFromDropMenu(String price);
 }
@@ -0,0 +1,14 @@
+package com.training.eshop.service;
+
+import com.training.eshop.model.Good;
+
+import java.util.List;
+
+public interface InventoryService {
+
+    boolean reserve(Long goodId, long amount);
+
+    void release(Long goodId, long amount);
+
+    long releaseAll(List<Good> goods);
+}
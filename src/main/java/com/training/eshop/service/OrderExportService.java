@@ -0,0 +1,11 @@
+package com.training.eshop.service;
+
+import com.training.eshop.model.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OrderExportService {
+
+    void export(ExportFormat format, OutputStream outputStream) throws IOException;
+}
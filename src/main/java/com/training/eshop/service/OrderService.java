@@ -3,6 +3,7 @@ package com.training.eshop.service;
 import com.training.eshop.dto.GoodBuyerDto;
 import com.training.eshop.dto.OrderAdminViewDto;
 import com.training.eshop.dto.OrderBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.model.Good;
 import com.training.eshop.model.Order;
 
@@ -12,19 +13,19 @@ public interface OrderService {
 
     Order save(Order order, String login);
 
-    void addGoodToOrder(GoodBuyerDto goodBuyerDto);
+    void addGoodToOrder(GoodBuyerDto goodBuyerDto, String login);
 
-    void deleteGoodFromOrder(GoodBuyerDto goodBuyerDto);
+    void deleteGoodFromOrder(GoodBuyerDto goodBuyerDto, String login);
 
     OrderBuyerDto getById(Long id);
 
-    List<OrderAdminViewDto> getAll(String sortField, String sortDirection, int pageSize, int pageNumber);
+    PageDto<OrderAdminViewDto> getAll(String sortField, String sortDirection, int pageSize, int pageNumber, String after);
 
-    List<Good> getCartGoods();
+    List<Good> getCartGoods(String login);
 
-    void updateDataForCancelledOrder(Order order);
+    void updateDataForCancelledOrder(Order order, String login);
 
-    void updateDataAfterPlacingOrder(OrderBuyerDto orderBuyerDto);
+    void updateDataAfterPlacingOrder(OrderBuyerDto orderBuyerDto, String login);
 
     int getTotalAmount();
 }
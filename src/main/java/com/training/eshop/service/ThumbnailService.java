@@ -0,0 +1,13 @@
+package com.training.eshop.service;
+
+import com.training.eshop.dto.AttachmentDto;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+public interface ThumbnailService {
+
+    void generateAfterCommit(String path, String contentType);
+
+    FileChannel getThumbnail(AttachmentDto attachmentDto) throws IOException;
+}
@@ -11,5 +11,9 @@ public interface ValidationService {
 
     String getWrongSearchParameterError(String parameter);
 
+    String getWrongGoodCursorError(String after, String sortField);
+
+    String getWrongOrderCursorError(String after, String sortField);
+
     List<String> validateUploadFile(MultipartFile file);
 }
@@ -0,0 +1,84 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.exception.AttachmentNotFoundException;
+import com.training.eshop.service.AttachmentArchiveService;
+import com.training.eshop.service.AttachmentService;
+import lombok.AllArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@AllArgsConstructor
+public class AttachmentArchiveServiceImpl implements AttachmentArchiveService {
+
+    private static final Logger LOGGER = LogManager.getLogger(AttachmentArchiveServiceImpl.class.getName());
+
+    private static final String UNSAFE_ENTRY_NAME_CHARACTERS = "[/\\\\]";
+    private static final String ENTRY_NAME_REPLACEMENT = "_";
+    private static final String DUPLICATE_ENTRY_NAME_FORMAT = "%s (%s)%s";
+
+    private final AttachmentService attachmentService;
+
+    @Override
+    public void writeZip(Long orderId, OutputStream outputStream) throws IOException {
+        List<AttachmentDto> attachments = attachmentService.getAllContentsByOrderId(orderId);
+
+        Set<String> entryNames = new HashSet<>();
+
+        ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+
+        zipOutputStream.setLevel(Deflater.BEST_SPEED);
+
+        for (AttachmentDto attachment : attachments) {
+            try (InputStream inputStream = attachmentService.getContent(attachment)) {
+                zipOutputStream.putNextEntry(new ZipEntry(getUniqueEntryName(attachment.getName(), entryNames)));
+
+                StreamUtils.copy(inputStream, zipOutputStream);
+
+                zipOutputStream.closeEntry();
+            } catch (AttachmentNotFoundException e) {
+                LOGGER.error("File {} of order {} is skipped in the archive: {}", attachment.getName(), orderId,
+                        e.getMessage());
+            }
+        }
+
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+
+        LOGGER.info("{} files of order {} are downloaded as an archive", attachments.size(), orderId);
+    }
+
+    private String getUniqueEntryName(String name, Set<String> entryNames) {
+        String entryName = name.replaceAll(UNSAFE_ENTRY_NAME_CHARACTERS, ENTRY_NAME_REPLACEMENT);
+
+        if (entryNames.add(entryName)) {
+            return entryName;
+        }
+
+        int extensionIndex = entryName.lastIndexOf('.');
+
+        String baseName = extensionIndex > 0 ? entryName.substring(0, extensionIndex) : entryName;
+        String extension = extensionIndex > 0 ? entryName.substring(extensionIndex) : "";
+
+        for (int copy = 2; ; copy++) {
+            String copyName = String.format(DUPLICATE_ENTRY_NAME_FORMAT, baseName, copy, extension);
+
+            if (entryNames.add(copyName)) {
+                return copyName;
+            }
+        }
+    }
+}
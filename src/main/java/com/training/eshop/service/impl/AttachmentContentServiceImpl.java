@@ -0,0 +1,43 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.dao.AttachmentContentDAO;
+import com.training.eshop.service.AttachmentContentService;
+import com.training.eshop.storage.AttachmentStorage;
+import lombok.AllArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+
+@Service
+@AllArgsConstructor
+public class AttachmentContentServiceImpl implements AttachmentContentService {
+
+    private static final Logger LOGGER = LogManager.getLogger(AttachmentContentServiceImpl.class.getName());
+
+    private final AttachmentContentDAO attachmentContentDAO;
+    private final AttachmentStorage attachmentStorage;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean deleteIfUnreferenced(String hash, String path) {
+        if (attachmentContentDAO.isReferenced(hash)) {
+            LOGGER.info("Content {} is still referenced and is kept in storage", path);
+
+            return false;
+        }
+
+        try {
+            attachmentStorage.delete(path);
+
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Content {} could not be removed from storage", path, e);
+
+            return false;
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package com.training.eshop.service.impl;
 
 import com.training.eshop.converter.AttachmentConverter;
+import com.training.eshop.dao.AttachmentContentDAO;
 import com.training.eshop.dao.AttachmentDAO;
 import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.dto.AttachmentSummaryDto;
 import com.training.eshop.exception.AttachmentNotFoundException;
+import com.training.eshop.metrics.AttachmentStorageMetrics;
 import com.training.eshop.model.Attachment;
+import com.training.eshop.model.enums.AttachmentType;
+import com.training.eshop.service.AttachmentContentService;
 import com.training.eshop.service.AttachmentService;
 import com.training.eshop.service.HistoryService;
+import com.training.eshop.service.ThumbnailService;
+import com.training.eshop.storage.AttachmentStorage;
+import com.training.eshop.storage.StoredContent;
 import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,18 +42,40 @@ public class AttachmentServiceImpl implements AttachmentService {
     private static final Logger LOGGER = LogManager.getLogger(AttachmentServiceImpl.class.getName());
 
     private static final String FILE_NOT_FOUND = "This file is absent";
+    private static final String CONTENT_REMOVED = "Content of this file has just been removed, please upload it again";
+    private static final String DOWNLOAD_URL = "/orders/%s/attachments/%s";
 
     private final AttachmentDAO attachmentDAO;
+    private final AttachmentContentDAO attachmentContentDAO;
     private final AttachmentConverter attachmentConverter;
     private final HistoryService historyService;
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentStorageMetrics attachmentStorageMetrics;
+    private final ThumbnailService thumbnailService;
+    private final AttachmentContentService attachmentContentService;
 
     @Override
     @Transactional
     public Attachment save(@NonNull AttachmentDto attachmentDto, Long orderId) {
+        deleteContentIfRolledBack(attachmentDto.getHash(), attachmentDto.getPath());
+
         Attachment attachment = attachmentConverter.fromAttachmentDto(attachmentDto, orderId);
 
         attachmentDAO.save(attachment);
 
+        long references = attachmentContentDAO.addReference(attachment.getHash(), attachment.getPath(), attachment.getSize());
+
+        if (!attachmentStorage.exists(attachment.getPath())) {
+            LOGGER.error("Content {} was removed by a concurrent deletion before file {} was saved",
+                    attachment.getPath(), attachmentDto.getName());
+
+            throw new AttachmentNotFoundException(CONTENT_REMOVED);
+        }
+
+        attachmentStorageMetrics.uploaded(attachment.getSize(), references > 1);
+
+        thumbnailService.generateAfterCommit(attachment.getPath(), attachment.getContentType());
+
         historyService.saveHistoryForAttachedFile(attachment, orderId);
 
         LOGGER.info("New file {} has just been added to order {}", attachmentDto.getName(), orderId);
@@ -48,33 +86,48 @@ public class AttachmentServiceImpl implements AttachmentService {
     @Override
     @Transactional
     public void deleteByName(String fileName, Long orderId) {
-        if (isFilePresent(fileName, orderId)) {
-            attachmentDAO.deleteByAttachmentNameAndOrderId(fileName, orderId);
-
-            historyService.saveHistoryForRemovedFile(fileName, orderId);
+        List<Attachment> attachments = attachmentDAO.getAllByAttachmentNameAndOrderId(fileName, orderId);
 
-            LOGGER.info("File {} has just been deleted from order {}", fileName, orderId);
-        } else {
+        if (attachments.isEmpty()) {
             LOGGER.error("File {} is absent in order {}", fileName, orderId);
 
             throw new AttachmentNotFoundException(FILE_NOT_FOUND);
         }
+
+        attachmentDAO.deleteByAttachmentNameAndOrderId(fileName, orderId);
+
+        Map<String, String> unreferencedContents = attachments.stream()
+                .filter(attachment -> attachmentContentDAO.removeReference(attachment.getHash()) < 1)
+                .collect(Collectors.toMap(Attachment::getHash, Attachment::getPath, (path, duplicate) -> path,
+                        LinkedHashMap::new));
+
+        deleteContentAfterCommit(unreferencedContents);
+
+        historyService.saveHistoryForRemovedFile(fileName, orderId);
+
+        LOGGER.info("File {} has just been deleted from order {}", fileName, orderId);
     }
 
     @Override
-    @Transactional
-    public List<AttachmentDto> getAllByOrderId(Long orderId) {
-        List<Attachment> attachments = attachmentDAO.getAllByOrderId(orderId);
+    @Transactional(readOnly = true)
+    public List<AttachmentSummaryDto> getAllByOrderId(Long orderId) {
+        return getSummaries(orderId);
+    }
 
-        LOGGER.info("All files for order {} : {}", orderId, attachments);
+    @Override
+    @Transactional
+    public List<AttachmentSummaryDto> getAllByOrderIdAfterWrite(Long orderId) {
+        return getSummaries(orderId);
+    }
 
-        return attachments.stream()
-                .map(attachmentConverter::convertToAttachmentDto)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<AttachmentDto> getAllContentsByOrderId(Long orderId) {
+        return attachmentDAO.getAllContentsByOrderId(orderId);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public AttachmentDto getById(Long attachmentId, Long orderId) {
         Attachment attachment = attachmentDAO.getByAttachmentIdAndOrderId(attachmentId, orderId);
 
@@ -83,18 +136,89 @@ public class AttachmentServiceImpl implements AttachmentService {
         return attachmentConverter.convertToAttachmentDto(attachment);
     }
 
+    @Override
+    public InputStream getContent(AttachmentDto attachmentDto) throws IOException {
+        return attachmentStorage.open(attachmentDto.getPath());
+    }
+
+    @Override
+    public FileChannel getContentChannel(AttachmentDto attachmentDto) throws IOException {
+        return attachmentStorage.openChannel(attachmentDto.getPath());
+    }
+
+    @Override
+    public long getLastModified(AttachmentDto attachmentDto) throws IOException {
+        return attachmentStorage.getLastModified(attachmentDto.getPath());
+    }
+
     @Override
     public AttachmentDto getChosenAttachment(@NonNull MultipartFile file) throws IOException {
+        StoredContent content;
+        String contentType;
+
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
+            inputStream.mark(AttachmentType.HEADER_LENGTH);
+
+            contentType = AttachmentType.detect(inputStream, file.getOriginalFilename())
+                    .map(AttachmentType::getContentType)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+            inputStream.reset();
+
+            content = attachmentStorage.store(inputStream);
+        }
+
         AttachmentDto attachmentDto = new AttachmentDto();
 
         attachmentDto.setName(file.getOriginalFilename());
-        attachmentDto.setFile(file.getBytes());
+        attachmentDto.setSize(content.getSize());
+        attachmentDto.setHash(content.getHash());
+        attachmentDto.setContentType(contentType);
+        attachmentDto.setPath(content.getPath());
 
         return attachmentDto;
     }
 
-    private boolean isFilePresent(String fileName, Long orderId) {
-        return attachmentDAO.getAllByOrderId(orderId).stream().anyMatch(file -> fileName.equals(file.getName()));
+    private List<AttachmentSummaryDto> getSummaries(Long orderId) {
+        List<AttachmentSummaryDto> attachments = attachmentDAO.getAllByOrderId(orderId);
+
+        attachments.forEach(attachment ->
+                attachment.setDownloadUrl(String.format(DOWNLOAD_URL, orderId, attachment.getId())));
+
+        LOGGER.info("All files for order {} : {}", orderId, attachments);
+
+        return attachments;
     }
-}
 
+    private void deleteContentIfRolledBack(String hash, String path) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK && attachmentContentService.deleteIfUnreferenced(hash, path)) {
+                    LOGGER.info("Content {} of the rolled back upload has just been removed", path);
+                }
+            }
+        });
+    }
+
+    private void deleteContentAfterCommit(Map<String, String> contents) {
+        if (contents.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                contents.forEach((hash, path) -> {
+                    try {
+                        if (attachmentContentService.deleteIfUnreferenced(hash, path)) {
+                            attachmentStorageMetrics.contentRemoved();
+                        }
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Content {} could not be removed from storage", path, e);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,335 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.exception.CartIsFullException;
+import com.training.eshop.metrics.ReservationMetrics;
+import com.training.eshop.model.Good;
+import com.training.eshop.service.CartService;
+import com.training.eshop.service.InventoryService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@PropertySource("classpath:cart/cart.properties")
+public class CartServiceImpl implements CartService {
+
+    private static final Logger LOGGER = LogManager.getLogger(CartServiceImpl.class.getName());
+
+    private static final String CART_IS_FULL = "Your cart can't contain more than %s goods";
+    private static final Comparator<Reservation> BY_EXPIRATION_TIME = Comparator
+            .comparingLong((Reservation reservation) -> reservation.expirationTime)
+            .thenComparingLong(reservation -> reservation.sequence);
+
+    // access-ordered, so the least recently used cart is always the eldest entry; guarded by its own monitor
+    private final Map<String, Cart> carts = new LinkedHashMap<>(16, 0.75f, true);
+    private final NavigableSet<Reservation> reservations = new ConcurrentSkipListSet<>(BY_EXPIRATION_TIME);
+    private final AtomicLong reservationSequence = new AtomicLong();
+    private final Queue<Good> unreleasedGoods = new ConcurrentLinkedQueue<>();
+
+    private final InventoryService inventoryService;
+    private final ReservationMetrics reservationMetrics;
+
+    @Value("${cart.max-items}")
+    private int maxItems;
+
+    @Value("${cart.max-carts}")
+    private int maxCarts;
+
+    @Value("${cart.reservation-ttl-ms}")
+    private long reservationTtl;
+
+    public CartServiceImpl(InventoryService inventoryService, ReservationMetrics reservationMetrics) {
+        this.inventoryService = inventoryService;
+        this.reservationMetrics = reservationMetrics;
+    }
+
+    @Override
+    public List<Good> getGoods(String login) {
+        Cart cart = getCart(login);
+
+        if (cart == null) {
+            return Collections.emptyList();
+        }
+
+        synchronized (cart) {
+            return cart.getGoods();
+        }
+    }
+
+    @Override
+    public void addGood(String login, Good good) {
+        while (true) {
+            Cart cart = getOrCreateCart(login);
+
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;
+                }
+
+                if (cart.reservations.size() >= maxItems) {
+                    LOGGER.error(String.format(CART_IS_FULL, maxItems));
+
+                    throw new CartIsFullException(String.format(CART_IS_FULL, maxItems));
+                }
+
+                Reservation reservation = new Reservation(login, cart, good, System.currentTimeMillis() + reservationTtl,
+                        reservationSequence.incrementAndGet());
+
+                cart.reservations.add(reservation);
+
+                reservations.add(reservation);
+                reservationMetrics.reservationAdded();
+
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean removeGood(String login, Good good) {
+        Cart cart = getCart(login);
+
+        if (cart == null) {
+            return false;
+        }
+
+        synchronized (cart) {
+            if (cart.evicted) {
+                return false;
+            }
+
+            Iterator<Reservation> iterator = cart.reservations.iterator();
+
+            while (iterator.hasNext()) {
+                Reservation reservation = iterator.next();
+
+                if (reservation.good.equals(good)) {
+                    iterator.remove();
+                    reservations.remove(reservation);
+
+                    reservationMetrics.reservationsRemoved(1);
+
+                    if (cart.reservations.isEmpty()) {
+                        cart.evicted = true;
+
+                        removeCart(login, cart);
+                    }
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    @Override
+    public List<Good> clear(String login) {
+        Cart cart;
+
+        synchronized (carts) {
+            cart = carts.remove(login);
+        }
+
+        if (cart == null) {
+            return Collections.emptyList();
+        }
+
+        synchronized (cart) {
+            cart.evicted = true;
+            cart.reservations.forEach(reservations::remove);
+
+            reservationMetrics.reservationsRemoved(cart.reservations.size());
+
+            return cart.getGoods();
+        }
+    }
+
+    @Override
+    public int getCartsAmount() {
+        synchronized (carts) {
+            return carts.size();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cart.expiry-interval-ms}")
+    public void releaseExpiredReservations() {
+        int expiredAmount = 0;
+        long now = System.currentTimeMillis();
+
+        for (Reservation reservation : reservations) {
+            if (reservation.expirationTime > now) {
+                break;
+            }
+
+            if (reservations.remove(reservation) && expire(reservation)) {
+                unreleasedGoods.add(reservation.good);
+
+                expiredAmount++;
+            }
+        }
+
+        reservationMetrics.reservationsExpired(expiredAmount);
+
+        List<Good> goods = new ArrayList<>();
+        Good good;
+
+        while ((good = unreleasedGoods.poll()) != null) {
+            goods.add(good);
+        }
+
+        if (!goods.isEmpty()) {
+            try {
+                reservationMetrics.unitsReclaimed(inventoryService.releaseAll(goods));
+
+                LOGGER.info("{} expired or evicted reservations returned to stock", goods.size());
+            } catch (RuntimeException e) {
+                unreleasedGoods.addAll(goods);
+
+                LOGGER.error("Expired or evicted reservations will be returned to stock on the next run", e);
+            }
+        }
+    }
+
+    private boolean expire(Reservation reservation) {
+        Cart cart = reservation.cart;
+
+        synchronized (cart) {
+            if (cart.evicted || !cart.reservations.remove(reservation)) {
+                return false;
+            }
+
+            if (cart.reservations.isEmpty()) {
+                cart.evicted = true;
+
+                removeCart(reservation.login, cart);
+            }
+
+            return true;
+        }
+    }
+
+    private Cart getCart(String login) {
+        synchronized (carts) {
+            return carts.get(login);
+        }
+    }
+
+    private void removeCart(String login, Cart cart) {
+        synchronized (carts) {
+            carts.remove(login, cart);
+        }
+    }
+
+    private Cart getOrCreateCart(String login) {
+        String eldestLogin;
+        Cart eldestCart;
+
+        synchronized (carts) {
+            Cart cart = carts.get(login);
+
+            if (cart != null) {
+                return cart;
+            }
+
+            if (carts.size() < maxCarts) {
+                return carts.computeIfAbsent(login, key -> new Cart());
+            }
+
+            Map.Entry<String, Cart> eldest = carts.entrySet().iterator().next();
+
+            eldestLogin = eldest.getKey();
+            eldestCart = eldest.getValue();
+        }
+
+        // evicted outside the map monitor, which is always taken after a cart monitor and never before one
+        evict(eldestLogin, eldestCart);
+
+        synchronized (carts) {
+            return carts.computeIfAbsent(login, key -> new Cart());
+        }
+    }
+
+    private void evict(String login, Cart cart) {
+        List<Good> goods;
+
+        synchronized (cart) {
+            if (cart.evicted) {
+                return;
+            }
+
+            synchronized (carts) {
+                if (!carts.remove(login, cart)) {
+                    return;
+                }
+            }
+
+            cart.evicted = true;
+            cart.reservations.forEach(reservations::remove);
+
+            goods = cart.getGoods();
+        }
+
+        reservationMetrics.reservationsRemoved(goods.size());
+
+        try {
+            reservationMetrics.unitsReclaimed(inventoryService.releaseAll(goods));
+        } catch (RuntimeException e) {
+            unreleasedGoods.addAll(goods);
+
+            LOGGER.error("Goods of the evicted cart of {} will be returned to stock on the next run", login, e);
+
+            return;
+        }
+
+        LOGGER.info("Cart of {} with {} goods has been evicted", login, goods.size());
+    }
+
+    private static class Cart {
+
+        private final List<Reservation> reservations = new ArrayList<>();
+
+        private boolean evicted;
+
+        private List<Good> getGoods() {
+            return reservations.stream()
+                    .map(reservation -> reservation.good)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Reservation {
+
+        private final String login;
+        private final Cart cart;
+        private final Good good;
+        private final long expirationTime;
+        private final long sequence;
+
+        private Reservation(String login, Cart cart, Good good, long expirationTime, long sequence) {
+            this.login = login;
+            this.cart = cart;
+            this.good = good;
+            this.expirationTime = expirationTime;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -39,7 +39,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CommentDto> getAllByOrderId(Long orderId, String buttonValue) {
         List<Comment> comments;
 
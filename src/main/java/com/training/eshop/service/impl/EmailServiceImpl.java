@@ -84,14 +84,14 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendOrderDetailsMessage(Long orderId, String login) {
-        List<User> admins = userDAO.getAllAdmins();
+        List<String> adminEmails = userDAO.getAllAdminEmails();
 
         User buyer = userDAO.getByLogin(login);
 
-        Order order = orderDAO.getById(orderId);
+        Order order = orderDAO.getByIdWithGoods(orderId);
         OrderBuyerDto orderBuyerDto = orderConverter.convertToOrderBuyerDto(order);
 
-        admins.forEach(recipient -> sendMessageUsingThymeleafTemplate(recipient.getEmail(),
+        adminEmails.forEach(recipient -> sendMessageUsingThymeleafTemplate(recipient,
                 ORDER_DETAILS_SUBJECT,
                 getTemplateModelForOrder(orderId, orderBuyerDto, "Admins", EMPTY_STRING, EMPTY_STRING),
                 ORDER_DETAILS_TEMPLATE));
@@ -106,7 +106,7 @@ public class EmailServiceImpl implements EmailService {
     public void sendFeedbackMessage(Long orderId, Long feedbackId, String login) {
         User buyer = userDAO.getByLogin(login);
 
-        List<User> recipients = userDAO.getAllAdmins();
+        List<String> recipients = userDAO.getAllAdminEmails();
 
         Feedback feedback = feedbackDAO.getByFeedbackIdAndOrderId(feedbackId, orderId);
 
@@ -117,7 +117,7 @@ public class EmailServiceImpl implements EmailService {
         templateModel.put("feedbackRate", feedback.getRate());
         templateModel.put("feedbackComment", feedback.getText());
 
-        recipients.forEach(recipient -> sendMessageUsingThymeleafTemplate(recipient.getEmail(),
+        recipients.forEach(recipient -> sendMessageUsingThymeleafTemplate(recipient,
                 "Feedback was provided",
                 templateModel, "orderFeedback.html"));
 
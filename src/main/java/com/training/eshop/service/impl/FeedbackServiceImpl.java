@@ -54,7 +54,7 @@ public class FeedbackServiceImpl implements FeedbackService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<FeedbackDto> getAllByOrderId(Long orderId, String buttonValue) {
         List<Feedback> feedbacks;
 
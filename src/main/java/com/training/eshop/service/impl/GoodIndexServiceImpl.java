@@ -0,0 +1,320 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.dao.query.GoodSortField;
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.dto.GoodAdminViewDto;
+import com.training.eshop.model.Good;
+import com.training.eshop.service.GoodIndexService;
+import com.training.eshop.util.MoneyUtil;
+import com.training.eshop.util.SortedLongSet;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Service
+public class GoodIndexServiceImpl implements GoodIndexService {
+
+    private static final Logger LOGGER = LogManager.getLogger(GoodIndexServiceImpl.class.getName());
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String DEFAULT = "default";
+    private static final String DESC = "desc";
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private static final SortedLongSet EMPTY_POSTING = new SortedLongSet();
+
+    private final Map<Long, IndexedGood> goods = new HashMap<>();
+    private final Map<String, Map<String, SortedLongSet>> trigramIndexes = new HashMap<>();
+    private final Map<TitleAndPrice, SortedLongSet> idsByTitleAndPrice = new HashMap<>();
+    private final Set<Long> changedDuringWarmUp = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+
+    private final GoodDAO goodDAO;
+
+    private volatile boolean ready;
+
+    public GoodIndexServiceImpl(GoodDAO goodDAO) {
+        this.goodDAO = goodDAO;
+
+        trigramIndexes.put(TITLE, new HashMap<>());
+        trigramIndexes.put(DESCRIPTION, new HashMap<>());
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void warmUp() {
+        if (warmUpStarted.compareAndSet(false, true)) {
+            Thread warmUpThread = new Thread(this::rebuild, "good-index-warm-up");
+
+            warmUpThread.setDaemon(true);
+            warmUpThread.start();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<List<Long>> search(String searchField, String parameter, String sortField, String sortDirection) {
+        Map<String, SortedLongSet> trigramIndex = trigramIndexes.get(searchField);
+
+        if (!ready || trigramIndex == null || parameter == null || parameter.length() < TRIGRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        String term = parameter.toLowerCase();
+
+        lock.readLock().lock();
+
+        try {
+            List<SortedLongSet> postings = getTrigrams(term).stream()
+                    .map(trigram -> trigramIndex.getOrDefault(trigram, EMPTY_POSTING))
+                    .sorted(Comparator.comparingInt(SortedLongSet::size))
+                    .collect(Collectors.toList());
+
+            return Optional.of(postings.get(0).stream()
+                    .filter(id -> postings.stream().allMatch(posting -> posting.contains(id)))
+                    .mapToObj(goods::get)
+                    .filter(good -> good.getText(searchField).contains(term))
+                    .sorted(getComparator(searchField, term, sortField, sortDirection))
+                    .map(IndexedGood::getId)
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Long> findId(String title, long priceInCents) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            // duplicates resolve to the lowest id, as the database lookup orders by id
+            return Optional.ofNullable(idsByTitleAndPrice.get(new TitleAndPrice(title, priceInCents)))
+                    .map(SortedLongSet::first);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Good good) {
+        IndexedGood indexedGood = new IndexedGood(good.getId(), good.getTitle(), good.getPrice(),
+                toLowerCase(good.getTitle()), toLowerCase(good.getDescription()));
+
+        afterCommit(() -> write(() -> {
+            markChangedDuringWarmUp(indexedGood.getId());
+
+            put(indexedGood);
+        }));
+    }
+
+    @Override
+    public void remove(Long id) {
+        afterCommit(() -> write(() -> {
+            markChangedDuringWarmUp(id);
+
+            delete(id);
+        }));
+    }
+
+    private void rebuild() {
+        try {
+            PageCriteria criteria = new PageCriteria(null, null, "id", "asc", WARM_UP_BATCH_SIZE, 1, null);
+
+            List<GoodAdminViewDto> batch = goodDAO.getPage(criteria);
+
+            while (!batch.isEmpty()) {
+                List<IndexedGood> indexedGoods = batch.stream()
+                        .map(good -> new IndexedGood(good.getId(), good.getTitle(), good.getPrice(),
+                                toLowerCase(good.getTitle()), toLowerCase(good.getDescription())))
+                        .collect(Collectors.toList());
+
+                // checked under the same lock as the put, so a change committed meanwhile is never overwritten
+                write(() -> indexedGoods.stream()
+                        .filter(good -> !changedDuringWarmUp.contains(good.getId()))
+                        .forEach(this::put));
+
+                Long lastId = batch.get(batch.size() - 1).getId();
+
+                criteria.setAfter(lastId + "," + lastId);
+
+                batch = batch.size() < WARM_UP_BATCH_SIZE ? Collections.emptyList() : goodDAO.getPage(criteria);
+            }
+
+            write(() -> {
+                ready = true;
+                changedDuringWarmUp.clear();
+            });
+
+            LOGGER.info("Good search index is ready: {} goods", goods.size());
+        } catch (RuntimeException e) {
+            LOGGER.error("Good search index warm-up failed, searches fall back to the database", e);
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(IndexedGood indexedGood) {
+        delete(indexedGood.getId());
+
+        goods.put(indexedGood.getId(), indexedGood);
+        idsByTitleAndPrice.computeIfAbsent(indexedGood.getTitleAndPrice(), key -> new SortedLongSet())
+                .add(indexedGood.getId());
+
+        trigramIndexes.forEach((field, trigramIndex) -> getTrigrams(indexedGood.getText(field))
+                .forEach(trigram -> trigramIndex.computeIfAbsent(trigram, key -> new SortedLongSet())
+                        .add(indexedGood.getId())));
+    }
+
+    private void delete(Long id) {
+        IndexedGood indexedGood = goods.remove(id);
+
+        if (indexedGood != null) {
+            removeId(idsByTitleAndPrice, indexedGood.getTitleAndPrice(), id);
+
+            trigramIndexes.forEach((field, trigramIndex) -> getTrigrams(indexedGood.getText(field))
+                    .forEach(trigram -> removeId(trigramIndex, trigram, id)));
+        }
+    }
+
+    private <K> void removeId(Map<K, SortedLongSet> ids, K key, Long id) {
+        SortedLongSet keyIds = ids.get(key);
+
+        if (keyIds != null && keyIds.remove(id) && keyIds.isEmpty()) {
+            ids.remove(key);
+        }
+    }
+
+    private Set<String> getTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+
+        return trigrams;
+    }
+
+    private Comparator<IndexedGood> getComparator(String searchField, String term, String sortField,
+                                                  String sortDirection) {
+        Comparator<IndexedGood> comparator;
+
+        if (sortField == null || DEFAULT.equals(sortField)) {
+            return Comparator.<IndexedGood>comparingInt(good -> getRank(good.getText(searchField), term))
+                    .thenComparingInt(good -> good.getText(searchField).length())
+                    .thenComparing(IndexedGood::getId);
+        }
+
+        switch (GoodSortField.of(sortField)) {
+            case TITLE:
+                comparator = Comparator.comparing(IndexedGood::getTitle).thenComparing(IndexedGood::getId);
+                break;
+            case PRICE:
+                comparator = Comparator.comparing(IndexedGood::getPrice).thenComparing(IndexedGood::getId);
+                break;
+            default:
+                comparator = Comparator.comparing(IndexedGood::getId);
+        }
+
+        return DESC.equals(sortDirection) ? comparator.reversed() : comparator;
+    }
+
+    private int getRank(String text, String term) {
+        if (text.equals(term)) {
+            return 0;
+        }
+
+        if (text.startsWith(term)) {
+            return 1;
+        }
+
+        return text.contains(" " + term) ? 2 : 3;
+    }
+
+    private void markChangedDuringWarmUp(Long id) {
+        if (!ready) {
+            changedDuringWarmUp.add(id);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String toLowerCase(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IndexedGood {
+
+        private final Long id;
+
+        private final String title;
+
+        private final BigDecimal price;
+
+        private final String lowerTitle;
+
+        private final String lowerDescription;
+
+        private String getText(String field) {
+            return TITLE.equals(field) ? lowerTitle : lowerDescription;
+        }
+
+        private TitleAndPrice getTitleAndPrice() {
+            return new TitleAndPrice(title, MoneyUtil.toCents(price));
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class TitleAndPrice {
+
+        private final String title;
+
+        private final long priceInCents;
+    }
+}
@@ -2,15 +2,20 @@ package com.training.eshop.service.impl;
 
 import com.training.eshop.converter.GoodConverter;
 import com.training.eshop.dao.UserDAO;
+import com.training.eshop.dao.query.GoodSortField;
+import com.training.eshop.dao.query.PageCriteria;
 import com.training.eshop.dto.GoodAdminCreationDto;
 import com.training.eshop.dto.GoodAdminViewDto;
 import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.exception.AccessDeniedException;
 import com.training.eshop.exception.ProductNotFoundException;
 import com.training.eshop.model.Good;
 import com.training.eshop.model.User;
 import com.training.eshop.model.enums.Role;
+import com.training.eshop.service.GoodIndexService;
 import com.training.eshop.service.GoodService;
+import com.training.eshop.util.MoneyUtil;
 import com.training.eshop.dao.GoodDAO;
 import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.LogManager;
@@ -18,6 +23,7 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,17 +32,13 @@ import java.util.stream.Collectors;
 public class GoodServiceImpl implements GoodService {
     private static final Logger LOGGER = LogManager.getLogger(GoodServiceImpl.class.getName());
 
-    private static final Map<String, List<Good>> SORT_MAP = new HashMap<>();
-
     private static final String PRODUCT_NOT_FOUND = "Product with title %s and price %s $ not found";
     private static final String ACCESS_DENIED_FOR_BUYER = "Access is allowed only for administrator";
-    private static final String DOT = ".";
-    private static final String ZERO = "0";
-    private static final String TWO_ZEROS_LEFT = ".00";
 
     private final GoodDAO goodDAO;
     private final UserDAO userDAO;
     private final GoodConverter goodConverter;
+    private final GoodIndexService goodIndexService;
 
     @Override
     @Transactional
@@ -51,34 +53,42 @@ public class GoodServiceImpl implements GoodService {
 
         goodDAO.save(good);
 
+        goodIndexService.index(good);
+
         return good;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<GoodBuyerDto> getAllForBuyer() {
-        return goodDAO.getAll()
-                .stream()
-                .map(goodConverter::convertToGoodBuyerDto)
-                .collect(Collectors.toList());
+        return goodDAO.getAllForBuyer();
     }
 
     @Override
-    @Transactional
-    public List<GoodAdminViewDto> getAllForAdmin(String searchField, String parameter, String sortField,
-                                                 String sortDirection, int pageSize, int pageNumber) {
-        List<Good> goods = getPage(getDirectionSort(goodDAO.getAllBySearch(searchField, parameter),
-                sortField, sortDirection), pageSize, pageNumber);
+    @Transactional(readOnly = true)
+    public PageDto<GoodAdminViewDto> getAllForAdmin(String searchField, String parameter, String sortField,
+                                                    String sortDirection, int pageSize, int pageNumber, String after) {
+        PageCriteria criteria = new PageCriteria(searchField, parameter, sortField, sortDirection,
+                pageSize, pageNumber, after);
+
+        if (!criteria.hasCursor()) {
+            Optional<List<Long>> indexedIds = goodIndexService.search(searchField, parameter, sortField, sortDirection);
+
+            if (indexedIds.isPresent()) {
+                return getIndexedPage(indexedIds.get(), pageSize, pageNumber);
+            }
+        }
 
-        LOGGER.info("All goods : {}", goods);
+        List<GoodAdminViewDto> goodDtos = goodDAO.getPage(criteria);
 
-        return goods.stream()
-                .map(goodConverter::convertToGoodAdminViewDto)
-                .collect(Collectors.toList());
+        LOGGER.info("All goods : {}", goodDtos);
+
+        return new PageDto<>(goodDtos, goodDAO.getCount(criteria), pageSize, pageNumber,
+                getNextCursor(goodDtos, sortField, pageSize));
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public GoodAdminViewDto getById(Long id) {
         Good good = goodDAO.getById(id);
 
@@ -87,12 +97,19 @@ public class GoodServiceImpl implements GoodService {
 
     @Override
     @Transactional
-    public Good getByTitleAndPrice(String title, String price) {
-        return goodDAO.getAll().stream()
-                .filter(good -> title.equals(good.getTitle())
-                        && getPriceFromDropMenu(price).equals(String.valueOf(good.getPrice())))
-                .findAny()
+    public Good getByTitleAndPrice(String title, BigDecimal price) {
+        long priceInCents = Optional.ofNullable(price)
+                .flatMap(MoneyUtil::toExactCents)
                 .orElseThrow(() -> new ProductNotFoundException(String.format(PRODUCT_NOT_FOUND, title, price)));
+
+        Optional<Good> good = goodIndexService.findId(title, priceInCents)
+                .map(goodDAO::getById);
+
+        if (!good.isPresent()) {
+            good = goodDAO.getByTitleAndPrice(title, MoneyUtil.fromCents(priceInCents));
+        }
+
+        return good.orElseThrow(() -> new ProductNotFoundException(String.format(PRODUCT_NOT_FOUND, title, price)));
     }
 
     @Override
@@ -109,6 +126,8 @@ public class GoodServiceImpl implements GoodService {
 
         goodDAO.update(good);
 
+        goodIndexService.index(good);
+
         if (id > 0) {
             LOGGER.info("Updated good: {}", good);
         } else {
@@ -127,76 +146,49 @@ public class GoodServiceImpl implements GoodService {
 
         goodDAO.deleteById(id);
 
-        LOGGER.info("Goods after removing good with id = {} : {}", id, getSortedGoods(goodDAO.getAll(), "id"));
+        goodIndexService.remove(id);
+
+        LOGGER.info("Good with id = {} has just been removed", id);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public int getTotalAmount() {
-        return goodDAO.getAll().size();
+        return (int) goodDAO.getCount(new PageCriteria());
     }
 
-    @Override
-    public String getPriceFromDropMenu(String price) {
-        if (price.contains(DOT)) {
-            return isNumbersAfterDotLengthMoreThanOne(price) ? price : price + ZERO;
-        }
+    private PageDto<GoodAdminViewDto> getIndexedPage(List<Long> ids, int pageSize, int pageNumber) {
+        int fromIndex = Math.min(Math.max(pageNumber - 1, 0) * pageSize, ids.size());
 
-        return price + TWO_ZEROS_LEFT;
-    }
+        List<Long> pageIds = ids.subList(fromIndex, Math.min(fromIndex + pageSize, ids.size()));
 
-    private boolean isNumbersAfterDotLengthMoreThanOne(String price) {
-        String numbersAfterDot = price.substring(price.indexOf(DOT) + 1);
+        Map<Long, GoodAdminViewDto> goods = goodDAO.getAllByIds(pageIds).stream()
+                .collect(Collectors.toMap(GoodAdminViewDto::getId, good -> good));
 
-        return numbersAfterDot.length() > 1;
-    }
+        LOGGER.info("All goods found in search index : {}", goods.values());
 
-    private List<Good> getSortedGoods(List<Good> goods, String sortField) {
-        SORT_MAP.put("id", goods.stream()
-                .sorted(Comparator.comparing(Good::getId))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("title", goods.stream()
-                .sorted(Comparator.comparing(Good::getTitle))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("price", goods.stream()
-                .sorted(Comparator.comparing(Good::getPrice))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("default", goods.stream()
-                .sorted(Comparator.comparing(Good::getId))
-                .collect(Collectors.toList()));
-
-        return SORT_MAP.entrySet().stream()
-                .filter(pair -> pair.getKey().equals(sortField))
-                .map(Map.Entry::getValue)
-                .flatMap(Collection::stream)
+        List<GoodAdminViewDto> goodDtos = pageIds.stream()
+                .map(goods::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-    }
-
-    private List<Good> getDirectionSort(List<Good> goods, String sortField, String sortDirection) {
-        if (sortDirection.equals("desc")) {
-            List<Good> reversedGoods = getSortedGoods(goods, sortField);
 
-            Collections.reverse(reversedGoods);
-
-            return reversedGoods;
-        }
-
-        return getSortedGoods(goods, sortField);
+        return new PageDto<>(goodDtos, ids.size(), pageSize, pageNumber, null);
     }
 
-    private List<Good> getPage(List<Good> goods, int pageSize, int pageNumber) {
-        List<List<Good>> pages = new ArrayList<>();
-
-        for (int i = 0; i < goods.size(); i += pageSize) {
-            List<Good> page = new ArrayList<>(goods.subList(i, Math.min(goods.size(), i + pageSize)));
-
-            pages.add(page);
+    private String getNextCursor(List<GoodAdminViewDto> goods, String sortField, int pageSize) {
+        if (goods.isEmpty() || goods.size() < pageSize) {
+            return null;
         }
 
-        if (!goods.isEmpty() && pageNumber - 1 <= goods.size() / pageSize) {
-            return pages.get(pageNumber - 1);
-        } else {
-            return Collections.emptyList();
+        GoodAdminViewDto lastGood = goods.get(goods.size() - 1);
+
+        switch (GoodSortField.of(sortField)) {
+            case TITLE:
+                return lastGood.getTitle() + "," + lastGood.getId();
+            case PRICE:
+                return lastGood.getPrice().toPlainString() + "," + lastGood.getId();
+            default:
+                return lastGood.getId() + "," + lastGood.getId();
         }
     }
 
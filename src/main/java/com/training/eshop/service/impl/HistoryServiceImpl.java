@@ -42,7 +42,7 @@ public class HistoryServiceImpl implements HistoryService {
     private final OrderDAO orderDAO;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<HistoryDto> getAllByOrderId(Long orderId, String buttonValue) {
         List<History> history;
 
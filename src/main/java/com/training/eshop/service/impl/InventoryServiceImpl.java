@@ -0,0 +1,85 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.model.Good;
+import com.training.eshop.service.GoodIndexService;
+import com.training.eshop.service.InventoryService;
+import lombok.AllArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@AllArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Logger LOGGER = LogManager.getLogger(InventoryServiceImpl.class.getName());
+
+    private static final int RELEASE_BATCH_SIZE = 100;
+
+    private final GoodDAO goodDAO;
+    private final GoodIndexService goodIndexService;
+
+    @Override
+    @Transactional
+    public boolean reserve(Long goodId, long amount) {
+        boolean isReserved = goodDAO.decreaseQuantity(goodId, amount) == 1;
+
+        LOGGER.info("Reservation of {} units of good {}: {}", amount, goodId, isReserved ? "done" : "out of stock");
+
+        return isReserved;
+    }
+
+    @Override
+    @Transactional
+    public void release(Long goodId, long amount) {
+        returnToSale(goodDAO.increaseQuantity(goodId, amount));
+
+        LOGGER.info("{} units of good {} returned to stock", amount, goodId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long releaseAll(List<Good> goods) {
+        Map<Long, Long> units = new TreeMap<>();
+
+        for (Good good : goods) {
+            units.merge(good.getId(), good.getQuantity(), Long::sum);
+        }
+
+        Map<Long, Long> batch = new TreeMap<>();
+
+        for (Map.Entry<Long, Long> entry : units.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+
+            if (batch.size() == RELEASE_BATCH_SIZE) {
+                returnToSale(goodDAO.increaseQuantities(batch));
+
+                batch.clear();
+            }
+        }
+        returnToSale(goodDAO.increaseQuantities(batch));
+
+        long released = units.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        LOGGER.info("{} units of {} goods returned to stock", released, units.size());
+
+        return released;
+    }
+
+    private void returnToSale(List<Long> goodIds) {
+        for (Long goodId : goodIds) {
+            goodIndexService.index(goodDAO.getById(goodId));
+
+            LOGGER.info("Sold out good {} is back on sale", goodId);
+        }
+    }
+}
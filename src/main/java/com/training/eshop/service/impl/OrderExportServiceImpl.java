@@ -0,0 +1,103 @@
+package com.training.eshop.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.eshop.dao.OrderDAO;
+import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.OrderExportDto;
+import com.training.eshop.model.enums.ExportFormat;
+import com.training.eshop.service.OrderExportService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final Logger LOGGER = LogManager.getLogger(OrderExportServiceImpl.class.getName());
+
+    private static final String CSV_HEADER = "id,user,total_price,description,goods";
+    private static final String CSV_SEPARATOR = ",";
+    private static final String GOODS_SEPARATOR = "; ";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String QUOTE = "\"";
+
+    private final OrderDAO orderDAO;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportServiceImpl(OrderDAO orderDAO) {
+        this.orderDAO = orderDAO;
+        this.objectMapper = new ObjectMapper()
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        AtomicLong exported = new AtomicLong();
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER + LINE_SEPARATOR);
+        }
+
+        try {
+            orderDAO.exportAll(order -> {
+                try {
+                    writer.write(format == ExportFormat.CSV ? toCsvLine(order) : toJsonLine(order));
+
+                    exported.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+
+        LOGGER.info("{} orders exported as {}", exported.get(), format);
+    }
+
+    private String toCsvLine(OrderExportDto order) {
+        String goods = order.getGoods().stream()
+                .map(good -> good.getTitle() + " " + good.getPrice().toPlainString())
+                .collect(Collectors.joining(GOODS_SEPARATOR));
+
+        return String.join(CSV_SEPARATOR,
+                String.valueOf(order.getId()),
+                toCsvField(order.getUser()),
+                order.getTotalPrice() == null ? "" : order.getTotalPrice().toPlainString(),
+                toCsvField(order.getDescription()),
+                toCsvField(goods)) + LINE_SEPARATOR;
+    }
+
+    private String toJsonLine(OrderExportDto order) throws IOException {
+        return objectMapper.writeValueAsString(order) + LINE_SEPARATOR;
+    }
+
+    private String toCsvField(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(CSV_SEPARATOR) || value.contains(QUOTE) || value.contains("\n") || value.contains("\r")) {
+            return QUOTE + value.replace(QUOTE, QUOTE + QUOTE) + QUOTE;
+        }
+
+        return value;
+    }
+}
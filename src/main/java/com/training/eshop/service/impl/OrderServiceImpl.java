@@ -3,26 +3,34 @@ package com.training.eshop.service.impl;
 import com.training.eshop.converter.OrderConverter;
 import com.training.eshop.dao.GoodDAO;
 import com.training.eshop.dao.UserDAO;
+import com.training.eshop.dao.query.OrderSortField;
+import com.training.eshop.dao.query.PageCriteria;
 import com.training.eshop.dto.GoodBuyerDto;
 import com.training.eshop.dto.OrderAdminViewDto;
 import com.training.eshop.dto.OrderBuyerDto;
+import com.training.eshop.dto.PageDto;
 import com.training.eshop.exception.OrderNotPlacedException;
 import com.training.eshop.exception.ProductNotFoundException;
 import com.training.eshop.exception.ProductNotSelectedException;
 import com.training.eshop.model.Good;
 import com.training.eshop.model.Order;
 import com.training.eshop.model.User;
+import com.training.eshop.service.CartService;
 import com.training.eshop.service.EmailService;
+import com.training.eshop.service.GoodIndexService;
 import com.training.eshop.service.GoodService;
 import com.training.eshop.service.HistoryService;
+import com.training.eshop.service.InventoryService;
 import com.training.eshop.service.OrderService;
+import com.training.eshop.util.MoneyUtil;
 import com.training.eshop.dao.OrderDAO;
-import com.training.eshop.util.comparator.OrderUserComparator;
 import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -33,15 +41,11 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderService {
     private static final Logger LOGGER = LogManager.getLogger(OrderServiceImpl.class.getName());
 
-    private static final Map<String, List<Order>> SORT_MAP = new HashMap<>();
-
     private static final String ORDER_NOT_PLACED = "Your order not placed yet";
     private static final String PRODUCT_NOT_SELECTED = "You should select the product first";
     private static final String PRODUCT_NOT_FOUND = "Product with title %s and price %s $ is not in the cart";
     private static final String PRODUCT_IS_OVER = "Product with title %s and price %s $ out of stock";
 
-    private final List<Good> goods = new ArrayList<>();
-
     private final OrderDAO orderDAO;
     private final EmailService emailService;
     private final GoodService goodService;
@@ -49,11 +53,18 @@ public class OrderServiceImpl implements OrderService {
     private final OrderConverter orderConverter;
     private final UserDAO userDAO;
     private final GoodDAO goodDAO;
+    private final GoodIndexService goodIndexService;
+    private final CartService cartService;
+    private final InventoryService inventoryService;
 
     @Override
     @Transactional
     public Order save(Order order, String login) {
-        setOrderParameters(order, login);
+        List<Good> goods = cartService.clear(login);
+
+        releaseIfRolledBack(goods);
+
+        setOrderParameters(order, login, goods);
 
         if (!order.getGoods().isEmpty()) {
             orderDAO.save(order);
@@ -72,19 +83,16 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public void addGoodToOrder(GoodBuyerDto goodBuyerDto) {
+    public void addGoodToOrder(GoodBuyerDto goodBuyerDto, String login) {
         if (!goodBuyerDto.getTitle().isEmpty()) {
-            Good good = goodService.getByTitleAndPrice(goodBuyerDto.getTitle(), String.valueOf(goodBuyerDto.getPrice()));
+            Good good = goodService.getByTitleAndPrice(goodBuyerDto.getTitle(), goodBuyerDto.getPrice());
 
             Good orderGood = new Good();
 
-            Long last = good.getQuantity() - 1L;
-            Long amount = good.getQuantity() - last;
-
-            if (good.getQuantity() >= 1) {
-                setOrderGoodParameters(good, orderGood, amount);
+            if (inventoryService.reserve(good.getId(), 1L)) {
+                setOrderGoodParameters(good, orderGood, 1L);
 
-                goods.add(orderGood);
+                addToCartAfterCommit(login, orderGood);
 
                 historyService.saveHistoryForAddedGoods(good);
             } else {
@@ -93,9 +101,6 @@ public class OrderServiceImpl implements OrderService {
                 throw new ProductNotFoundException(String.format(PRODUCT_IS_OVER, goodBuyerDto.getTitle(), goodBuyerDto.getPrice()));
             }
 
-            good.setQuantity(last);
-
-            LOGGER.info("Your goods: {}", goods);
         } else {
             LOGGER.error(PRODUCT_NOT_SELECTED);
 
@@ -105,24 +110,24 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public void deleteGoodFromOrder(GoodBuyerDto goodBuyerDto) {
+    public void deleteGoodFromOrder(GoodBuyerDto goodBuyerDto, String login) {
         if (!goodBuyerDto.getTitle().isEmpty()) {
-            Good good = goodService.getByTitleAndPrice(goodBuyerDto.getTitle(), String.valueOf(goodBuyerDto.getPrice()));
+            Good good = goodService.getByTitleAndPrice(goodBuyerDto.getTitle(), goodBuyerDto.getPrice());
 
-            if (isProductPresent(goodBuyerDto)) {
+            if (isProductPresent(goodBuyerDto, login)) {
                 Good orderGood = new Good();
 
-                Long last = good.getQuantity() + 1L;
-
                 setOrderGoodParameters(good, orderGood, 1L);
 
-                goods.remove(orderGood);
+                if (cartService.removeGood(login, orderGood)) {
+                    inventoryService.release(good.getId(), 1L);
 
-                historyService.saveHistoryForRemovedGoods(good);
+                    returnToCartIfRolledBack(login, orderGood);
+                }
 
-                good.setQuantity(last);
+                historyService.saveHistoryForRemovedGoods(good);
 
-                LOGGER.info("Your goods after removing {} : {}", goodBuyerDto.getTitle(), goods);
+                LOGGER.info("Your goods after removing {} : {}", goodBuyerDto.getTitle(), cartService.getGoods(login));
             } else {
                 LOGGER.error(String.format(PRODUCT_NOT_FOUND, goodBuyerDto.getTitle(), goodBuyerDto.getPrice()));
 
@@ -138,7 +143,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderBuyerDto getById(Long id) {
-        Order order = orderDAO.getById(id);
+        Order order = orderDAO.getByIdWithGoods(id);
 
         LOGGER.info("Order № {} : {}", id, order);
 
@@ -146,55 +151,50 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional
-    public List<OrderAdminViewDto> getAll(String sortField, String sortDirection, int pageSize, int pageNumber) {
-        List<Order> orders = getPage(getDirectionSort(orderDAO.getAll(), sortField, sortDirection),
-                pageSize, pageNumber);
+    @Transactional(readOnly = true)
+    public PageDto<OrderAdminViewDto> getAll(String sortField, String sortDirection, int pageSize, int pageNumber,
+                                             String after) {
+        PageCriteria criteria = new PageCriteria(null, null, sortField, sortDirection, pageSize, pageNumber, after);
+
+        List<OrderAdminViewDto> orders = orderDAO.getPage(criteria);
 
         LOGGER.info("All orders : {}", orders);
 
-        return orders.stream()
-                .map(orderConverter::convertToOrderAdminViewDto)
-                .collect(Collectors.toList());
+        return new PageDto<>(orders, orderDAO.getCount(criteria), pageSize, pageNumber,
+                getNextCursor(orders, sortField, pageSize));
     }
 
     @Override
     @Transactional
-    public List<Good> getCartGoods() {
-        return goods;
+    public List<Good> getCartGoods(String login) {
+        return cartService.getGoods(login);
     }
 
     @Override
     @Transactional
-    public void updateDataForCancelledOrder(Order order) {
-        for (Good orderGood : goods) {
-            for (Good good : goodDAO.getAll()) {
-                setGoodQuantityIfOrderIsCancelled(good, orderGood);
-            }
-        }
+    public void updateDataForCancelledOrder(Order order, String login) {
+        inventoryService.releaseAll(cartService.clear(login));
         historyService.saveHistoryForCanceledOrder();
 
-        goods.clear();
-
-        order.setGoods(goods);
+        order.setGoods(new ArrayList<>());
     }
 
     @Override
     @Transactional
-    public void updateDataAfterPlacingOrder(OrderBuyerDto orderBuyerDto) {
-        for (Good good : goodDAO.getAll()) {
-            if (good.getQuantity() < 1L) {
-                goodDAO.deleteById(good.getId());
-            }
+    public void updateDataAfterPlacingOrder(OrderBuyerDto orderBuyerDto, String login) {
+        for (Long id : goodDAO.deleteSoldOut()) {
+            goodIndexService.remove(id);
         }
-        goods.clear();
 
-        orderBuyerDto.setGoods(orderConverter.convertToListGoodDto(goods));
+        cartService.clear(login);
+
+        orderBuyerDto.setGoods(new ArrayList<>());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getTotalAmount() {
-        return orderDAO.getAll().size();
+        return (int) orderDAO.getCount(new PageCriteria());
     }
 
     private String getOrderedGoods(Order order) {
@@ -228,64 +228,32 @@ public class OrderServiceImpl implements OrderService {
         return count;
     }
 
-    private List<Order> getSortedOrders(List<Order> orders, String sortField) {
-        SORT_MAP.put("id", orders.stream()
-                .sorted(Comparator.comparing(Order::getId))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("totalPrice", orders.stream()
-                .sorted(Comparator.comparing(Order::getTotalPrice))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("user", orders.stream()
-                .sorted(Comparator.comparing(Order::getUser, new OrderUserComparator()))
-                .collect(Collectors.toList()));
-        SORT_MAP.put("default", orders.stream()
-                .sorted(Comparator.comparing(Order::getId))
-                .collect(Collectors.toList()));
-
-        return SORT_MAP.entrySet().stream()
-                .filter(pair -> pair.getKey().equals(sortField))
-                .map(Map.Entry::getValue)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-    }
-
-    private List<Order> getDirectionSort(List<Order> orders, String sortField, String sortDirection) {
-        if (sortDirection.equals("desc")) {
-            List<Order> reversedOrders = getSortedOrders(orders, sortField);
-
-            Collections.reverse(reversedOrders);
-
-            return reversedOrders;
+    private String getNextCursor(List<OrderAdminViewDto> orders, String sortField, int pageSize) {
+        if (orders.isEmpty() || orders.size() < pageSize) {
+            return null;
         }
 
-        return getSortedOrders(orders, sortField);
-    }
-
-    private List<Order> getPage(List<Order> orders, int pageSize, int pageNumber) {
-        List<List<Order>> pages = new ArrayList<>();
+        OrderAdminViewDto lastOrder = orders.get(orders.size() - 1);
 
-        for (int i = 0; i < orders.size(); i += pageSize) {
-            List<Order> page = new ArrayList<>(orders.subList(i, Math.min(orders.size(), i + pageSize)));
-
-            pages.add(page);
-        }
-
-        if (!orders.isEmpty() && pageNumber - 1 <= orders.size() / pageSize) {
-            return pages.get(pageNumber - 1);
-        } else {
-            return Collections.emptyList();
+        switch (OrderSortField.of(sortField)) {
+            case TOTAL_PRICE:
+                return lastOrder.getTotalPrice().toPlainString() + "," + lastOrder.getId();
+            case USER:
+                return Objects.toString(lastOrder.getUser(), "") + "," + lastOrder.getId();
+            default:
+                return lastOrder.getId() + "," + lastOrder.getId();
         }
     }
 
-    private boolean isProductPresent(GoodBuyerDto goodBuyerDto) {
+    private boolean isProductPresent(GoodBuyerDto goodBuyerDto, String login) {
         String title = goodBuyerDto.getTitle();
-        String price = goodService.getPriceFromDropMenu(String.valueOf(goodBuyerDto.getPrice()));
+        long priceInCents = MoneyUtil.toCents(goodBuyerDto.getPrice());
 
-        return goods.stream().anyMatch(good -> title.equals(good.getTitle())
-                && price.equals(String.valueOf(good.getPrice())));
+        return cartService.getGoods(login).stream().anyMatch(good -> title.equals(good.getTitle())
+                && priceInCents == MoneyUtil.toCents(good.getPrice()));
     }
 
-    private void setOrderParameters(Order order, String login) {
+    private void setOrderParameters(Order order, String login, List<Good> goods) {
         User user = userDAO.getByLogin(login);
 
         order.setUser(user);
@@ -298,14 +266,47 @@ public class OrderServiceImpl implements OrderService {
         order.setDescription(description);
     }
 
-    private void setGoodQuantityIfOrderIsCancelled(Good good, Good orderGood) {
-        if (Objects.equals(orderGood.getId(), good.getId())) {
-            if (good.getQuantity() < 1L) {
-                good.setQuantity(orderGood.getQuantity());
-            } else {
-                good.setQuantity(good.getQuantity() + orderGood.getQuantity());
+    private void releaseIfRolledBack(List<Good> goods) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    inventoryService.releaseAll(goods);
+                }
             }
-        }
+        });
+    }
+
+    private void addToCartAfterCommit(String login, Good orderGood) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    cartService.addGood(login, orderGood);
+                } catch (RuntimeException e) {
+                    inventoryService.releaseAll(Collections.singletonList(orderGood));
+
+                    throw e;
+                }
+
+                LOGGER.info("Your goods: {}", cartService.getGoods(login));
+            }
+        });
+    }
+
+    private void returnToCartIfRolledBack(String login, Good orderGood) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    try {
+                        cartService.addGood(login, orderGood);
+                    } catch (RuntimeException e) {
+                        inventoryService.releaseAll(Collections.singletonList(orderGood));
+                    }
+                }
+            }
+        });
     }
 
     private void setOrderGoodParameters(Good good, Good orderGood, Long quantity) {
@@ -0,0 +1,268 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.exception.AttachmentNotFoundException;
+import com.training.eshop.metrics.ThumbnailMetrics;
+import com.training.eshop.model.enums.AttachmentType;
+import com.training.eshop.service.ThumbnailService;
+import com.training.eshop.storage.AttachmentStorage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@PropertySource("classpath:storage/storage.properties")
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final Logger LOGGER = LogManager.getLogger(ThumbnailServiceImpl.class.getName());
+
+    private static final String THUMBNAIL_VARIANT = "thumbnail.png";
+    private static final String THUMBNAIL_FAILED_VARIANT = "thumbnail.failed";
+    private static final String THUMBNAIL_FORMAT = "png";
+    private static final String THREAD_NAME_PREFIX = "thumbnail-";
+    private static final String THUMBNAIL_NOT_SUPPORTED = "Preview is available only for jpg and png files";
+    private static final String THUMBNAIL_NOT_READY = "Preview of this file is not ready yet";
+    private static final String THUMBNAIL_NOT_AVAILABLE = "Preview of this file could not be generated";
+    private static final String IMAGE_NOT_READABLE = "Image %s could not be read";
+    private static final List<String> IMAGE_CONTENT_TYPES = Arrays.asList(
+            AttachmentType.JPEG.getContentType(), AttachmentType.PNG.getContentType());
+
+    private final Set<String> pendingPaths = ConcurrentHashMap.newKeySet();
+
+    private final AttachmentStorage attachmentStorage;
+    private final ThumbnailMetrics thumbnailMetrics;
+    private final ThreadPoolExecutor executor;
+    private final int thumbnailSize;
+
+    public ThumbnailServiceImpl(AttachmentStorage attachmentStorage,
+                                ThumbnailMetrics thumbnailMetrics,
+                                @Value("${storage.thumbnail.size}") int thumbnailSize,
+                                @Value("${storage.thumbnail.pool-size}") int poolSize,
+                                @Value("${storage.thumbnail.queue-capacity}") int queueCapacity) {
+        this.attachmentStorage = attachmentStorage;
+        this.thumbnailMetrics = thumbnailMetrics;
+        this.thumbnailSize = thumbnailSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void generateAfterCommit(String path, String contentType) {
+        if (!IMAGE_CONTENT_TYPES.contains(contentType)) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(path);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(path);
+            }
+        });
+    }
+
+    @Override
+    public FileChannel getThumbnail(AttachmentDto attachmentDto) throws IOException {
+        if (!IMAGE_CONTENT_TYPES.contains(attachmentDto.getContentType())) {
+            throw new AttachmentNotFoundException(THUMBNAIL_NOT_SUPPORTED);
+        }
+
+        String thumbnailPath = attachmentStorage.getVariantPath(attachmentDto.getPath(), THUMBNAIL_VARIANT);
+
+        if (!attachmentStorage.exists(thumbnailPath)) {
+            String failedPath = attachmentStorage.getVariantPath(attachmentDto.getPath(), THUMBNAIL_FAILED_VARIANT);
+
+            if (attachmentStorage.exists(failedPath)) {
+                throw new AttachmentNotFoundException(THUMBNAIL_NOT_AVAILABLE);
+            }
+
+            submit(attachmentDto.getPath());
+
+            throw new AttachmentNotFoundException(THUMBNAIL_NOT_READY);
+        }
+
+        return attachmentStorage.openChannel(thumbnailPath);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(String path) {
+        if (!pendingPaths.add(path)) {
+            return;
+        }
+
+        try {
+            thumbnailMetrics.taskQueued();
+
+            executor.execute(() -> {
+                thumbnailMetrics.taskStarted();
+
+                try {
+                    generate(path);
+                } finally {
+                    pendingPaths.remove(path);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingPaths.remove(path);
+
+            thumbnailMetrics.taskRejected();
+
+            LOGGER.warn("Thumbnail queue is full, preview of {} will be generated on request", path);
+        }
+    }
+
+    private void generate(String path) {
+        if (attachmentStorage.exists(attachmentStorage.getVariantPath(path, THUMBNAIL_VARIANT))
+                || attachmentStorage.exists(attachmentStorage.getVariantPath(path, THUMBNAIL_FAILED_VARIANT))) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            BufferedImage thumbnail;
+
+            try (InputStream inputStream = attachmentStorage.open(path)) {
+                thumbnail = scale(read(inputStream, path));
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            ImageIO.write(thumbnail, THUMBNAIL_FORMAT, outputStream);
+
+            if (storeVariantOfExisting(path, THUMBNAIL_VARIANT, outputStream.toByteArray())) {
+                thumbnailMetrics.thumbnailGenerated(System.currentTimeMillis() - startTime);
+
+                LOGGER.info("Thumbnail of {} has just been generated", path);
+            }
+        } catch (IOException | RuntimeException e) {
+            thumbnailMetrics.thumbnailFailed();
+
+            LOGGER.error("Thumbnail of {} could not be generated", path, e);
+
+            markFailed(path);
+        }
+    }
+
+    private void markFailed(String path) {
+        try {
+            storeVariantOfExisting(path, THUMBNAIL_FAILED_VARIANT, new byte[0]);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed thumbnail of {} could not be marked", path, e);
+        }
+    }
+
+    // the content may be deleted while its variant is generated, the variant is dropped then so it is not orphaned
+    private boolean storeVariantOfExisting(String path, String variant, byte[] bytes) throws IOException {
+        if (!attachmentStorage.exists(path)) {
+            LOGGER.info("Content {} has been removed, its {} is not stored", path, variant);
+
+            return false;
+        }
+
+        String variantPath = attachmentStorage.storeVariant(path, variant, new ByteArrayInputStream(bytes));
+
+        if (!attachmentStorage.exists(path)) {
+            attachmentStorage.delete(variantPath);
+
+            LOGGER.info("Content {} has been removed, its {} is dropped", path, variant);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private BufferedImage read(InputStream inputStream, String path) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+
+            if (!readers.hasNext()) {
+                throw new IOException(String.format(IMAGE_NOT_READABLE, path));
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(imageInputStream, true, true);
+
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (thumbnailSize * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight()));
+
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return thumbnail;
+    }
+}
@@ -1,5 +1,8 @@
 package com.training.eshop.service.impl;
 
+import com.training.eshop.dao.query.GoodSortField;
+import com.training.eshop.dao.query.OrderSortField;
+import com.training.eshop.model.enums.AttachmentType;
 import com.training.eshop.service.ValidationService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -8,9 +11,12 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -22,7 +28,8 @@ public class ValidationServiceImpl implements ValidationService {
 
     private static final String EMPTY_VALUE = "";
     private static final String WRONG_SEARCH_PARAMETER = "Search should be in latin letters or figures";
-    private static final String DOWNLOADABLE_FILE_FORMAT = "jpg|pdf|doc|docx|png|jpeg";
+    private static final String CURSOR_FORMAT = "^.*,[0-9]{1,18}$";
+    private static final String WRONG_CURSOR = "Cursor should be in format lastSortKey,lastId";
     private static final String DOWNLOADABLE_FILE_FORMAT_ERROR_MESSAGE = "The selected file type is not allowed. Please select a file of " +
             "one of the following types: pdf, png, doc, docx, jpg, jpeg.";
     private static final Double ALLOWED_MAXIMUM_SIZE = 5.0;
@@ -51,12 +58,33 @@ public class ValidationServiceImpl implements ValidationService {
         return EMPTY_VALUE;
     }
 
+    @Override
+    public String getWrongGoodCursorError(String after, String sortField) {
+        return getWrongCursorError(after, GoodSortField.of(sortField)::isValidKey);
+    }
+
+    @Override
+    public String getWrongOrderCursorError(String after, String sortField) {
+        return getWrongCursorError(after, OrderSortField.of(sortField)::isValidKey);
+    }
+
+    private String getWrongCursorError(String after, Predicate<String> keyValidator) {
+        if (after != null && (!after.matches(CURSOR_FORMAT)
+                || !keyValidator.test(after.substring(0, after.lastIndexOf(','))))) {
+            LOGGER.error(WRONG_CURSOR);
+
+            return WRONG_CURSOR;
+        }
+
+        return EMPTY_VALUE;
+    }
+
     @Override
     public List<String> validateUploadFile(MultipartFile file) {
         List<String> fileUploadErrors = new ArrayList<>();
 
         if (file != null) {
-            if (!getFileExtension(file).matches(DOWNLOADABLE_FILE_FORMAT)) {
+            if (!isAllowedType(file)) {
                 LOGGER.error(DOWNLOADABLE_FILE_FORMAT_ERROR_MESSAGE);
 
                 fileUploadErrors.add(DOWNLOADABLE_FILE_FORMAT_ERROR_MESSAGE);
@@ -79,17 +107,13 @@ public class ValidationServiceImpl implements ValidationService {
                 .collect(Collectors.toList());
     }
 
-    private String getFileExtension(MultipartFile file) {
-        if (file == null) {
-            return EMPTY_VALUE;
-        }
-        String fileName = file.getOriginalFilename();
-        assert fileName != null;
+    private boolean isAllowedType(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return AttachmentType.detect(inputStream, file.getOriginalFilename()).isPresent();
+        } catch (IOException e) {
+            LOGGER.error("Type of file {} could not be read", file.getOriginalFilename(), e);
 
-        if (fileName.lastIndexOf(".") != -1 && fileName.lastIndexOf(".") != 0) {
-            return fileName.substring(fileName.lastIndexOf(".") + 1);
-        } else {
-            return EMPTY_VALUE;
+            return false;
         }
     }
 
@@ -0,0 +1,24 @@
+package com.training.eshop.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+public interface AttachmentStorage {
+
+    StoredContent store(InputStream inputStream) throws IOException;
+
+    String storeVariant(String path, String variant, InputStream inputStream) throws IOException;
+
+    String getVariantPath(String path, String variant);
+
+    boolean exists(String path);
+
+    InputStream open(String path) throws IOException;
+
+    FileChannel openChannel(String path) throws IOException;
+
+    long getLastModified(String path) throws IOException;
+
+    void delete(String path) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.training.eshop.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class StoredContent {
+
+    private final String path;
+
+    private final String hash;
+
+    private final long size;
+}
@@ -0,0 +1,183 @@
+package com.training.eshop.storage.impl;
+
+import com.training.eshop.exception.AttachmentNotFoundException;
+import com.training.eshop.storage.AttachmentStorage;
+import com.training.eshop.storage.StoredContent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Component
+@PropertySource("classpath:storage/storage.properties")
+public class FileSystemAttachmentStorage implements AttachmentStorage {
+
+    private static final Logger LOGGER = LogManager.getLogger(FileSystemAttachmentStorage.class.getName());
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String HASH_FORMAT = "%064x";
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final String TEMP_FILE_PREFIX = "upload-";
+    private static final String VARIANT_SEPARATOR = ".";
+    private static final String CONTENT_NOT_FOUND = "Content of this file is absent";
+
+    private final Path root;
+
+    public FileSystemAttachmentStorage(@Value("${storage.attachments.root}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StoredContent store(InputStream inputStream) throws IOException {
+        Path tempDirectory = Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+        Path tempFile = Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, null);
+
+        try {
+            MessageDigest digest = createDigest();
+
+            long size;
+
+            try (InputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(digestInputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = String.format(HASH_FORMAT, new BigInteger(1, digest.digest()));
+            String path = toPath(hash);
+            Path target = root.resolve(path);
+
+            if (Files.exists(target)) {
+                LOGGER.info("Content {} is already stored", hash);
+
+                return new StoredContent(path, hash, size);
+            }
+
+            Files.createDirectories(target.getParent());
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            return new StoredContent(path, hash, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public String storeVariant(String path, String variant, InputStream inputStream) throws IOException {
+        String variantPath = getVariantPath(path, variant);
+        Path target = resolve(variantPath);
+
+        Path tempDirectory = Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+        Path tempFile = Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, null);
+
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+            Files.createDirectories(target.getParent());
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            return variantPath;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public String getVariantPath(String path, String variant) {
+        return path + VARIANT_SEPARATOR + variant;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return Files.exists(resolve(path));
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        try {
+            return Files.newInputStream(resolve(path));
+        } catch (NoSuchFileException e) {
+            LOGGER.error("Content {} is absent in storage {}", path, root);
+
+            throw new AttachmentNotFoundException(CONTENT_NOT_FOUND);
+        }
+    }
+
+    @Override
+    public FileChannel openChannel(String path) throws IOException {
+        try {
+            return FileChannel.open(resolve(path), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            LOGGER.error("Content {} is absent in storage {}", path, root);
+
+            throw new AttachmentNotFoundException(CONTENT_NOT_FOUND);
+        }
+    }
+
+    @Override
+    public long getLastModified(String path) throws IOException {
+        try {
+            return Files.getLastModifiedTime(resolve(path)).toMillis();
+        } catch (NoSuchFileException e) {
+            LOGGER.error("Content {} is absent in storage {}", path, root);
+
+            throw new AttachmentNotFoundException(CONTENT_NOT_FOUND);
+        }
+    }
+
+    @Override
+    public void delete(String path) throws IOException {
+        Path file = resolve(path);
+
+        if (Files.deleteIfExists(file)) {
+            LOGGER.info("Content {} has just been removed from storage", path);
+        }
+
+        if (!Files.isDirectory(file.getParent())) {
+            return;
+        }
+
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(file.getParent(),
+                file.getFileName() + VARIANT_SEPARATOR + "*")) {
+            for (Path variant : variants) {
+                Files.deleteIfExists(variant);
+            }
+        }
+    }
+
+    private Path resolve(String path) {
+        Path file = root.resolve(path).normalize();
+
+        if (!file.startsWith(root)) {
+            throw new AttachmentNotFoundException(CONTENT_NOT_FOUND);
+        }
+
+        return file;
+    }
+
+    private String toPath(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
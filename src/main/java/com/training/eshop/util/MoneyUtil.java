@@ -0,0 +1,33 @@
+package com.training.eshop.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+public final class MoneyUtil {
+
+    private static final int CENTS_SCALE = 2;
+    private static final int MAX_INTEGER_DIGITS = 16;
+
+    private MoneyUtil() {
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // for prices sent by clients: sub-cent or out-of-range prices match nothing instead of being rounded
+    public static Optional<Long> toExactCents(BigDecimal price) {
+        BigDecimal stripped = price.stripTrailingZeros();
+
+        if (stripped.scale() > CENTS_SCALE || stripped.precision() - stripped.scale() > MAX_INTEGER_DIGITS) {
+            return Optional.empty();
+        }
+
+        return Optional.of(stripped.setScale(CENTS_SCALE).unscaledValue().longValueExact());
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+}
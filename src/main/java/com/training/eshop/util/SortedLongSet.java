@@ -0,0 +1,87 @@
+package com.training.eshop.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+public final class SortedLongSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    public boolean add(long value) {
+        if (size == 0 || values[size - 1] < value) {
+            ensureCapacity();
+
+            values[size++] = value;
+
+            return true;
+        }
+
+        int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index >= 0) {
+            return false;
+        }
+
+        int insertionPoint = -index - 1;
+
+        ensureCapacity();
+
+        System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint);
+        values[insertionPoint] = value;
+        size++;
+
+        return true;
+    }
+
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+
+        if (size > INITIAL_CAPACITY && size < values.length / 4) {
+            values = Arrays.copyOf(values, values.length / 2);
+        }
+
+        return true;
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public long first() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return values[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.training.eshop;
+
+import com.training.eshop.configuration.DataConfig;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@ContextConfiguration(classes = DataConfig.class)
+public abstract class AbstractDatabaseTest {
+
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    public static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("db.URL", EmbeddedDatabase::getJdbcUrl);
+        registry.add("db.userName", EmbeddedDatabase::getUserName);
+        registry.add("db.password", () -> "");
+        registry.add("db.replica.URL", EmbeddedDatabase::getJdbcUrl);
+        registry.add("db.replica.userName", EmbeddedDatabase::getUserName);
+        registry.add("db.replica.password", () -> "");
+        registry.add("db.pool.maximumPoolSize", () -> "50");
+        registry.add("storage.attachments.root", AbstractDatabaseTest::createStorageRoot);
+    }
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private static String createStorageRoot() {
+        try {
+            return Files.createTempDirectory("eshop-attachments").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.training.eshop;
+
+public interface Benchmark {
+}
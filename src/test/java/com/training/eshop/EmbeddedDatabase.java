@@ -0,0 +1,45 @@
+package com.training.eshop;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public final class EmbeddedDatabase {
+
+    private static final String USER_NAME = "postgres";
+    private static final String DATABASE_NAME = "postgres";
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static synchronized String getJdbcUrl() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder()
+                        .setServerConfig("max_connections", "300")
+                        .start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedDatabase::stop));
+        }
+
+        return String.format("jdbc:postgresql://localhost:%s/%s", postgres.getPort(), DATABASE_NAME);
+    }
+
+    public static String getUserName() {
+        return USER_NAME;
+    }
+
+    private static synchronized void stop() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.training.eshop.configuration;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.security.config.SecurityConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@ContextHierarchy({
+        @ContextConfiguration(classes = {SecurityConfig.class, DataConfig.class, MailConfig.class,
+                SchedulingConfig.class, MetricsConfig.class}),
+        @ContextConfiguration(classes = WebConfig.class)
+})
+public class WebContextTest {
+
+    private static final String POOL_NAME = "web-context-pool";
+    private static final String REPLICA_POOL_NAME = "web-context-replica-pool";
+    private static final String POOL_OBJECT_NAME = "com.zaxxer.hikari:type=Pool (%s)";
+
+    @Autowired
+    private ApplicationContext webContext;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        AbstractDatabaseTest.databaseProperties(registry);
+
+        registry.add("db.pool.name", () -> POOL_NAME);
+        registry.add("db.replica.pool.name", () -> REPLICA_POOL_NAME);
+    }
+
+    @Test
+    public void opensOnePoolPerDatabase() {
+        assertEquals(0, webContext.getBeanNamesForType(DataSource.class).length);
+
+        Map<String, HikariDataSource> pools =
+                BeanFactoryUtils.beansOfTypeIncludingAncestors(webContext, HikariDataSource.class);
+
+        assertEquals(2, pools.size());
+        assertEquals(pools, webContext.getParent().getBeansOfType(HikariDataSource.class));
+    }
+
+    @Test
+    public void reportsPoolsUsedByWebContext() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        for (HikariDataSource pool
+                : BeanFactoryUtils.beansOfTypeIncludingAncestors(webContext, HikariDataSource.class).values()) {
+            ObjectName objectName = new ObjectName(String.format(POOL_OBJECT_NAME, pool.getPoolName()));
+
+            try (Connection ignored = pool.getConnection()) {
+                assertEquals(1, mBeanServer.getAttribute(objectName, "ActiveConnections"));
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.model.Good;
+import com.training.eshop.model.History;
+import com.training.eshop.model.Order;
+import com.training.eshop.model.User;
+import com.training.eshop.model.enums.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class AbstractInsertBenchmarkTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(AbstractInsertBenchmarkTest.class.getName());
+
+    private static final String ACTION = "Insert benchmark";
+    private static final String LOGIN = "peter_mogilev@yopmail.com";
+    private static final int HISTORY_TRANSACTIONS = 500;
+    private static final int HISTORIES_PER_TRANSACTION = 20;
+    private static final int ORDERS = 1_000;
+    private static final int GOODS_PER_ORDER = 10;
+    private static final int WARM_UP_ROUNDS = 1;
+
+    @Autowired
+    private HistoryDAO historyDAO;
+
+    @Autowired
+    private OrderDAO orderDAO;
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @After
+    public void removeInsertedRows() {
+        jdbcTemplate.update("delete from history where action = ?", ACTION);
+        jdbcTemplate.update("delete from order_good where order_id in (select id from orders where description = ?)",
+                ACTION);
+        jdbcTemplate.update("delete from orders where description = ?", ACTION);
+    }
+
+    @Test
+    public void measureInserts() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            insertHistories(transaction);
+            insertOrders(transaction);
+            removeInsertedRows();
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        double historyRowsPerSecond = HISTORY_TRANSACTIONS * HISTORIES_PER_TRANSACTION
+                / insertHistories(transaction);
+        long historyStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+
+        double orderRowsPerSecond = ORDERS * (1 + GOODS_PER_ORDER) / insertOrders(transaction);
+        long orderStatements = statistics.getPrepareStatementCount();
+
+        statistics.setStatisticsEnabled(false);
+
+        LOGGER.info(String.format("%s: history %.0f rows/s, %.2f statements per transaction of %d rows; "
+                        + "orders %.0f rows/s, %.2f statements per transaction of 1 order and %d order_good rows",
+                getClass().getSimpleName(), historyRowsPerSecond, (double) historyStatements / HISTORY_TRANSACTIONS,
+                HISTORIES_PER_TRANSACTION, orderRowsPerSecond, (double) orderStatements / ORDERS, GOODS_PER_ORDER));
+    }
+
+    private double insertHistories(TransactionTemplate transaction) {
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < HISTORY_TRANSACTIONS; i++) {
+            transaction.executeWithoutResult(status -> {
+                for (int j = 0; j < HISTORIES_PER_TRANSACTION; j++) {
+                    History history = new History();
+
+                    history.setDate(LocalDateTime.now());
+                    history.setAction(ACTION);
+                    history.setDescription("History row " + j);
+                    history.setStatus(Status.IN_PROGRESS);
+
+                    historyDAO.save(history);
+                }
+            });
+        }
+
+        return (System.nanoTime() - startTime) / 1e9;
+    }
+
+    private double insertOrders(TransactionTemplate transaction) {
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < ORDERS; i++) {
+            transaction.executeWithoutResult(status -> {
+                User user = userDAO.getByLogin(LOGIN);
+                List<Good> goods = new ArrayList<>();
+
+                for (long id = 1; id <= GOODS_PER_ORDER; id++) {
+                    goods.add(goodDAO.getById(id));
+                }
+
+                Order order = new Order();
+
+                order.setUser(user);
+                order.setGoods(goods);
+                order.setTotalPrice(BigDecimal.TEN);
+                order.setDescription(ACTION);
+
+                orderDAO.save(order);
+            });
+        }
+
+        return (System.nanoTime() - startTime) / 1e9;
+    }
+}
@@ -0,0 +1,8 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.Benchmark;
+import org.junit.experimental.categories.Category;
+
+@Category(Benchmark.class)
+public class BatchedInsertBenchmarkTest extends AbstractInsertBenchmarkTest {
+}
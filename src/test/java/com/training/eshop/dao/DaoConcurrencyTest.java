@@ -0,0 +1,143 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.model.History;
+import com.training.eshop.model.enums.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DaoConcurrencyTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(DaoConcurrencyTest.class.getName());
+
+    private static final long STOCK_GOOD_ID = 9_200_000L;
+    private static final long SEEDED_GOODS = 14L;
+    private static final String LOGIN = "peter_mogilev@yopmail.com";
+    private static final String ACTION = "Concurrency test";
+    private static final int THREADS = 32;
+    private static final int TRANSACTIONS_PER_THREAD = 100;
+    private static final int SEEDED_USERS_LOADED = 1;
+    private static final int HISTORIES_SAVED = 1;
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private HistoryDAO historyDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Before
+    public void createStockGood() {
+        jdbcTemplate.update("insert into goods(id, title, price, quantity, description, deleted) "
+                + "values (?, 'Concurrency good', 1, 1000000, 'Updated concurrently', false)", STOCK_GOOD_ID);
+    }
+
+    @After
+    public void removeTestRows() {
+        jdbcTemplate.update("delete from history where action = ?", ACTION);
+        jdbcTemplate.update("delete from goods where id = ?", STOCK_GOOD_ID);
+    }
+
+    @Test
+    public void everyTransactionGetsItsOwnPersistenceContext() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger largestContext = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int j = 0; j < TRANSACTIONS_PER_THREAD; j++) {
+                    transaction.executeWithoutResult(status -> {
+                        Session session = entityManager.unwrap(Session.class);
+
+                        assertEquals("Persistence context leaked from another transaction", 0,
+                                session.getStatistics().getEntityCount());
+
+                        goodDAO.getById(ThreadLocalRandom.current().nextLong(1, SEEDED_GOODS + 1));
+                        goodDAO.getAllBySearch("title", "o");
+                        userDAO.getByLogin(LOGIN);
+                        historyDAO.save(createHistory());
+
+                        goodDAO.decreaseQuantity(STOCK_GOOD_ID, 1L);
+                        goodDAO.increaseQuantity(STOCK_GOOD_ID, 1L);
+
+                        largestContext.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+                    });
+                }
+
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int transactions = THREADS * TRANSACTIONS_PER_THREAD;
+
+        LOGGER.info(String.format("%d threads ran %d DAO transactions in %.2f s (%.0f/s), "
+                + "largest persistence context held %d entities", THREADS, transactions, seconds,
+                transactions / seconds, largestContext.get()));
+
+        assertTrue(largestContext.get() <= SEEDED_GOODS + SEEDED_USERS_LOADED + HISTORIES_SAVED);
+        assertEquals(Long.valueOf(transactions), jdbcTemplate.queryForObject(
+                "select count(*) from history where action = ?", Long.class, ACTION));
+        assertEquals(Long.valueOf(1_000_000), jdbcTemplate.queryForObject(
+                "select quantity from goods where id = ?", Long.class, STOCK_GOOD_ID));
+    }
+
+    private History createHistory() {
+        History history = new History();
+
+        history.setDate(LocalDateTime.now());
+        history.setAction(ACTION);
+        history.setDescription("Saved by " + Thread.currentThread().getName());
+        history.setStatus(Status.IN_PROGRESS);
+
+        return history;
+    }
+}
@@ -0,0 +1,160 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.Benchmark;
+import com.training.eshop.model.Good;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static org.junit.Assert.assertTrue;
+
+@Category(Benchmark.class)
+public class LookupBenchmarkTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(LookupBenchmarkTest.class.getName());
+
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int[] TABLE_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int FULL_SCAN_SIZE_LIMIT = 100_000;
+    private static final int LOOKUPS = 2_000;
+    private static final int FULL_SCAN_LOOKUPS = 5;
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private OrderDAO orderDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @After
+    public void removeSyntheticRows() {
+        // foreign keys to users and goods are not indexed, so checking them row by row would scan a million orders
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set session_replication_role = replica");
+                statement.execute("delete from orders where id >= " + FIRST_ID);
+                statement.execute("delete from goods where id >= " + FIRST_ID);
+                statement.execute("delete from users where id >= " + FIRST_ID);
+                statement.execute("set session_replication_role = default");
+            }
+
+            return null;
+        });
+    }
+
+    @Test
+    public void lookupCostDoesNotGrowWithTableSize() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.setReadOnly(true);
+
+        LOGGER.info(String.format("%10s %16s %16s %16s %20s", "rows", "good by id, us", "order by id, us",
+                "user by email, us", "full scan (old), us"));
+
+        int insertedRows = 0;
+        double smallestTableCost = 0;
+        double largestTableCost = 0;
+
+        for (int size : TABLE_SIZES) {
+            insertRows(FIRST_ID + insertedRows, size - insertedRows);
+            insertedRows = size;
+
+            int rows = size;
+
+            if (size == TABLE_SIZES[0]) {
+                warmUp(transaction, rows);
+            }
+
+            double goodCost = measure(transaction, LOOKUPS, id -> goodDAO.getById(randomId(rows)));
+            double orderCost = measure(transaction, LOOKUPS, id -> orderDAO.getById(randomId(rows)));
+            double userCost = measure(transaction, LOOKUPS,
+                    id -> userDAO.getByLogin("bench" + randomId(rows) + "@yopmail.com"));
+            String fullScanCost = size > FULL_SCAN_SIZE_LIMIT ? "-" : String.format("%.0f",
+                    measure(transaction, FULL_SCAN_LOOKUPS, id -> scanForGood(randomId(rows))));
+
+            LOGGER.info(String.format("%10d %16.1f %16.1f %16.1f %20s", size, goodCost, orderCost, userCost,
+                    fullScanCost));
+
+            if (size == TABLE_SIZES[0]) {
+                smallestTableCost = goodCost + orderCost + userCost;
+            }
+
+            largestTableCost = goodCost + orderCost + userCost;
+        }
+
+        assertTrue("Lookups on 1M rows should cost about the same as on 1k rows",
+                largestTableCost < smallestTableCost * 5);
+    }
+
+    private void insertRows(long firstId, int amount) {
+        long lastId = firstId + amount - 1;
+
+        jdbcTemplate.update("insert into users(id, name, email, password, role) select id, 'bench' || id, "
+                + "'bench' || id || '@yopmail.com', 'password' || id, 'ROLE_BUYER' "
+                + "from generate_series(?, ?) id", firstId, lastId);
+        jdbcTemplate.update("insert into goods(id, title, price, quantity, description, deleted) select id, "
+                + "'Good ' || id, (id % 1000) + 0.99, 10, 'Synthetic good ' || id, false "
+                + "from generate_series(?, ?) id", firstId, lastId);
+        jdbcTemplate.update("insert into orders(id, total_price, description, user_id) select id, 10, "
+                + "'Synthetic order', id from generate_series(?, ?) id", firstId, lastId);
+        jdbcTemplate.execute("analyze");
+    }
+
+    private void warmUp(TransactionTemplate transaction, int rows) {
+        measure(transaction, LOOKUPS, id -> goodDAO.getById(randomId(rows)));
+        measure(transaction, LOOKUPS, id -> orderDAO.getById(randomId(rows)));
+        measure(transaction, LOOKUPS, id -> userDAO.getByLogin("bench" + randomId(rows) + "@yopmail.com"));
+    }
+
+    private double measure(TransactionTemplate transaction, int lookups, LongConsumer lookup) {
+        entityManagerFactory.getCache().evictAll();
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < lookups; i++) {
+            long iteration = i;
+
+            transaction.executeWithoutResult(status -> lookup.accept(iteration));
+        }
+
+        return (System.nanoTime() - startTime) / 1_000.0 / lookups;
+    }
+
+    private void scanForGood(long id) {
+        entityManager.createQuery("from Good", Good.class)
+                .getResultList()
+                .stream()
+                .filter(good -> good.getId() == id)
+                .findAny()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private long randomId(int rows) {
+        return FIRST_ID + ThreadLocalRandom.current().nextInt(rows);
+    }
+}
@@ -0,0 +1,49 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.exception.OrderNotFoundException;
+import com.training.eshop.exception.ProductNotFoundException;
+import com.training.eshop.exception.UserNotFoundException;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.assertEquals;
+
+@Transactional
+public class LookupTest extends AbstractDatabaseTest {
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private OrderDAO orderDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Test
+    public void findsGoodByPrimaryKey() {
+        assertEquals("Book", goodDAO.getById(1L).getTitle());
+    }
+
+    @Test(expected = ProductNotFoundException.class)
+    public void throwsWhenGoodIsAbsent() {
+        goodDAO.getById(Long.MAX_VALUE);
+    }
+
+    @Test(expected = OrderNotFoundException.class)
+    public void throwsWhenOrderIsAbsent() {
+        orderDAO.getById(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void findsUserByEmail() {
+        assertEquals("Peter", userDAO.getByLogin("peter_mogilev@yopmail.com").getName());
+    }
+
+    @Test(expected = UserNotFoundException.class)
+    public void throwsWhenUserIsAbsent() {
+        userDAO.getByLogin("nobody@yopmail.com");
+    }
+}
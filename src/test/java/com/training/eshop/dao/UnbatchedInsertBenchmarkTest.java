@@ -0,0 +1,23 @@
+package com.training.eshop.dao;
+
+import com.training.eshop.Benchmark;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs the insert benchmark with the JDBC batching settings as they were before pooled ids and batching
+ * were introduced. The sequence allocation size lives in the entity annotations, so ids stay pooled here.
+ */
+@Category(Benchmark.class)
+public class UnbatchedInsertBenchmarkTest extends AbstractInsertBenchmarkTest {
+
+    @DynamicPropertySource
+    static void unbatchedProperties(DynamicPropertyRegistry registry) {
+        registry.add("hibernate.jdbc.batch_size", () -> "1");
+        registry.add("hibernate.order_inserts", () -> "false");
+        registry.add("hibernate.order_updates", () -> "false");
+        registry.add("hibernate.jdbc.batch_versioned_data", () -> "false");
+        registry.add("db.reWriteBatchedInserts", () -> "false");
+    }
+}
@@ -0,0 +1,29 @@
+package com.training.eshop.exception.exception_handling;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExceptionHandlerControllerTest {
+
+    private final ExceptionHandlerController exceptionHandlerController = new ExceptionHandlerController();
+
+    @Test
+    public void reportsConfiguredUploadLimit() {
+        assertEquals("The size of the attached file should not be greater than 5 Mb. Please select another file.",
+                getUploadSizeExceededInfo(5_242_880L));
+        assertEquals("The size of the attached file should not be greater than 512 Kb. Please select another file.",
+                getUploadSizeExceededInfo(524_288L));
+        assertEquals("The size of the attached file should not be greater than 1000 bytes. Please select another file.",
+                getUploadSizeExceededInfo(1_000L));
+    }
+
+    private String getUploadSizeExceededInfo(long uploadMaxFileSize) {
+        ReflectionTestUtils.setField(exceptionHandlerController, "uploadMaxFileSize", uploadMaxFileSize);
+
+        return exceptionHandlerController.handleException(new MaxUploadSizeExceededException(uploadMaxFileSize))
+                .getInfo();
+    }
+}
@@ -0,0 +1,40 @@
+package com.training.eshop.model.enums;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class AttachmentTypeTest {
+
+    private static final byte[] ZIP_HEADER = {0x50, 0x4B, 0x03, 0x04, 0x14, 0x00, 0x06, 0x00};
+    private static final byte[] OLE2_HEADER = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @Test
+    public void detectsWordDocumentsByExtension() throws IOException {
+        assertEquals(Optional.of(AttachmentType.DOCX), detect(ZIP_HEADER, "report.DOCX"));
+        assertEquals(Optional.of(AttachmentType.DOC), detect(OLE2_HEADER, "report.doc"));
+    }
+
+    @Test
+    public void rejectsOtherContainers() throws IOException {
+        assertEquals(Optional.empty(), detect(ZIP_HEADER, "archive.zip"));
+        assertEquals(Optional.empty(), detect(ZIP_HEADER, "sheet.xlsx"));
+        assertEquals(Optional.empty(), detect(OLE2_HEADER, "sheet.xls"));
+        assertEquals(Optional.empty(), detect(ZIP_HEADER, null));
+    }
+
+    @Test
+    public void detectsImagesBySignatureOnly() throws IOException {
+        assertEquals(Optional.of(AttachmentType.PNG), detect(PNG_HEADER, "photo"));
+    }
+
+    private Optional<AttachmentType> detect(byte[] header, String fileName) throws IOException {
+        return AttachmentType.detect(new ByteArrayInputStream(header), fileName);
+    }
+}
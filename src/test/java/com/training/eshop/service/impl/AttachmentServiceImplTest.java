@@ -0,0 +1,160 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.dao.AttachmentContentDAO;
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.exception.OrderNotFoundException;
+import com.training.eshop.service.AttachmentContentService;
+import com.training.eshop.service.AttachmentService;
+import com.training.eshop.storage.AttachmentStorage;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AttachmentServiceImplTest extends AbstractDatabaseTest {
+
+    private static final Long MISSING_ORDER_ID = Long.MAX_VALUE;
+    private static final long LOCK_WAIT_MILLIS = 500;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private AttachmentContentService attachmentContentService;
+
+    @Autowired
+    private AttachmentContentDAO attachmentContentDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AttachmentDto attachmentDto;
+
+    @After
+    public void removeContent() throws IOException {
+        jdbcTemplate.update("delete from attachment_content where content_hash = ?", attachmentDto.getHash());
+
+        attachmentStorage.delete(attachmentDto.getPath());
+    }
+
+    @Test
+    public void removesContentOfRolledBackUpload() throws IOException {
+        attachmentDto = attachmentService.getChosenAttachment(createFile("rolled back upload"));
+
+        assertTrue(attachmentStorage.exists(attachmentDto.getPath()));
+
+        saveToMissingOrder();
+
+        assertFalse(attachmentStorage.exists(attachmentDto.getPath()));
+    }
+
+    @Test
+    public void keepsReferencedContentOfRolledBackUpload() throws IOException {
+        attachmentDto = attachmentService.getChosenAttachment(createFile("already attached content"));
+
+        jdbcTemplate.update("insert into attachment_content (content_hash, storage_path, file_size, reference_count) "
+                + "values (?, ?, ?, 1)", attachmentDto.getHash(), attachmentDto.getPath(), attachmentDto.getSize());
+
+        saveToMissingOrder();
+
+        assertTrue(attachmentStorage.exists(attachmentDto.getPath()));
+    }
+
+    @Test
+    public void deletesContentRowWithLastReference() throws IOException {
+        attachmentDto = attachmentService.getChosenAttachment(createFile("twice attached content"));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            attachmentContentDAO.addReference(attachmentDto.getHash(), attachmentDto.getPath(), attachmentDto.getSize());
+            attachmentContentDAO.addReference(attachmentDto.getHash(), attachmentDto.getPath(), attachmentDto.getSize());
+
+            assertEquals(1L, attachmentContentDAO.removeReference(attachmentDto.getHash()));
+            assertEquals(0L, attachmentContentDAO.removeReference(attachmentDto.getHash()));
+            assertFalse(attachmentContentDAO.isReferenced(attachmentDto.getHash()));
+        });
+    }
+
+    @Test
+    public void keepsContentUploadedWhileItsDeletionIsChecked() throws Exception {
+        attachmentDto = attachmentService.getChosenAttachment(createFile("concurrently attached content"));
+
+        CountDownLatch referenced = new CountDownLatch(1);
+        CountDownLatch committing = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<?> upload = executor.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        attachmentContentDAO.addReference(attachmentDto.getHash(), attachmentDto.getPath(),
+                                attachmentDto.getSize());
+
+                        referenced.countDown();
+
+                        await(committing);
+                    }));
+
+            await(referenced);
+
+            Future<Boolean> deletion = executor.submit(() ->
+                    attachmentContentService.deleteIfUnreferenced(attachmentDto.getHash(), attachmentDto.getPath()));
+
+            Thread.sleep(LOCK_WAIT_MILLIS);
+
+            assertFalse(deletion.isDone());
+
+            committing.countDown();
+            upload.get(1, TimeUnit.MINUTES);
+
+            assertFalse(deletion.get(1, TimeUnit.MINUTES));
+            assertTrue(attachmentStorage.exists(attachmentDto.getPath()));
+        } finally {
+            committing.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(1, TimeUnit.MINUTES));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void saveToMissingOrder() {
+        try {
+            attachmentService.save(attachmentDto, MISSING_ORDER_ID);
+
+            fail("Attachment of a missing order must not be saved");
+        } catch (OrderNotFoundException e) {
+            // the upload is rolled back
+        }
+    }
+
+    private MockMultipartFile createFile(String content) {
+        return new MockMultipartFile("file", "note.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
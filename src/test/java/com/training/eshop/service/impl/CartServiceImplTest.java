@@ -0,0 +1,151 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.metrics.ReservationMetrics;
+import com.training.eshop.model.Good;
+import com.training.eshop.service.CartService;
+import com.training.eshop.service.InventoryService;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CartServiceImplTest extends AbstractDatabaseTest {
+
+    private static final String LOGIN = "empty_cart@yopmail.com";
+
+    @Autowired
+    private CartService cartService;
+
+    @After
+    public void clearCart() {
+        cartService.clear(LOGIN);
+    }
+
+    @Test
+    public void dropsCartWhenLastGoodIsRemoved() {
+        int cartsAmount = cartService.getCartsAmount();
+        Good good = createGood();
+
+        cartService.addGood(LOGIN, good);
+
+        assertEquals(cartsAmount + 1, cartService.getCartsAmount());
+
+        assertTrue(cartService.removeGood(LOGIN, createGood()));
+        assertEquals(cartsAmount, cartService.getCartsAmount());
+
+        cartService.addGood(LOGIN, good);
+
+        assertEquals(1, cartService.getGoods(LOGIN).size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedCart() {
+        ReleaseRecorder inventory = new ReleaseRecorder();
+        CartService carts = createCartService(inventory, 2);
+
+        carts.addGood("first", createGood(1L));
+        carts.addGood("second", createGood(2L));
+        carts.getGoods("first");
+        carts.addGood("third", createGood(3L));
+
+        assertEquals(1, carts.getGoods("first").size());
+        assertEquals(0, carts.getGoods("second").size());
+        assertEquals(1, carts.getGoods("third").size());
+        assertEquals(2L, (long) inventory.releasedGoods.get(0).getId());
+    }
+
+    @Test
+    public void retriesReleaseOfEvictedCart() {
+        ReleaseRecorder inventory = new ReleaseRecorder();
+        CartService carts = createCartService(inventory, 1);
+
+        inventory.failing = true;
+
+        carts.addGood("first", createGood(1L));
+        carts.addGood("second", createGood(2L));
+
+        assertTrue(inventory.releasedGoods.isEmpty());
+
+        inventory.failing = false;
+
+        carts.releaseExpiredReservations();
+
+        assertEquals(1, inventory.releasedGoods.size());
+        assertEquals(1L, (long) inventory.releasedGoods.get(0).getId());
+    }
+
+    @Test
+    public void dropsRemovedReservationsFromExpiryQueue() {
+        CartService carts = createCartService(new ReleaseRecorder(), 10);
+
+        carts.addGood("first", createGood(1L));
+        carts.addGood("first", createGood(2L));
+        carts.addGood("second", createGood(3L));
+
+        carts.removeGood("first", createGood(1L));
+        carts.clear("second");
+
+        assertEquals(1, ((Collection<?>) ReflectionTestUtils.getField(carts, "reservations")).size());
+    }
+
+    private CartService createCartService(InventoryService inventory, int maxCarts) {
+        CartServiceImpl carts = new CartServiceImpl(inventory, new ReservationMetrics());
+
+        ReflectionTestUtils.setField(carts, "maxItems", 10);
+        ReflectionTestUtils.setField(carts, "maxCarts", maxCarts);
+        ReflectionTestUtils.setField(carts, "reservationTtl", 60_000L);
+
+        return carts;
+    }
+
+    private Good createGood() {
+        return createGood(1L);
+    }
+
+    private Good createGood(Long id) {
+        Good good = new Good();
+
+        good.setId(id);
+        good.setTitle("Book");
+        good.setPrice(new BigDecimal("5.50"));
+        good.setQuantity(1L);
+
+        return good;
+    }
+
+    private static class ReleaseRecorder implements InventoryService {
+
+        private final List<Good> releasedGoods = new ArrayList<>();
+
+        private boolean failing;
+
+        @Override
+        public boolean reserve(Long goodId, long amount) {
+            return true;
+        }
+
+        @Override
+        public void release(Long goodId, long amount) {
+        }
+
+        @Override
+        public long releaseAll(List<Good> goods) {
+            if (failing) {
+                throw new IllegalStateException("Stock is not available");
+            }
+
+            releasedGoods.addAll(goods);
+
+            return goods.size();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.Benchmark;
+import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.dao.query.PageCriteria;
+import com.training.eshop.util.MoneyUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.assertTrue;
+
+@Category(Benchmark.class)
+public class GoodIndexBenchmarkTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(GoodIndexBenchmarkTest.class.getName());
+
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int GOODS = 1_000_000;
+    private static final int PAGE_SIZE = 25;
+    private static final int INDEX_REPETITIONS = 200;
+    private static final int DATABASE_REPETITIONS = 20;
+    private static final long READY_TIMEOUT_MS = 600_000L;
+    private static final String[] COLOURS = {"red", "blue", "green", "black", "white"};
+    private static final String[] NAMES = {"book", "phone", "lamp", "chair", "table", "pen", "cup"};
+    private static final String[] SEARCHES = {"lamp", "green chair", "phone 1234567"};
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @After
+    public void removeSyntheticGoods() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("delete from goods where id >= " + FIRST_ID);
+            }
+
+            return null;
+        });
+    }
+
+    @Test
+    public void indexAnswersFasterThanDatabaseOnMillionGoods() throws InterruptedException {
+        jdbcTemplate.update("insert into goods(id, title, price, quantity, description, deleted) select id, "
+                + "(array['Red','Blue','Green','Black','White'])[id % 5 + 1] || ' ' "
+                + "|| (array['Book','Phone','Lamp','Chair','Table','Pen','Cup'])[id % 7 + 1] || ' ' || id, "
+                + "(id % 1000) + 0.99, 10, 'Synthetic good number ' || id || ' for the catalogue', false "
+                + "from generate_series(?, ?) id", FIRST_ID, FIRST_ID + GOODS - 1);
+        jdbcTemplate.execute("analyze goods");
+
+        long heapBefore = getUsedHeap();
+        long buildStart = System.nanoTime();
+
+        GoodIndexServiceImpl index = new GoodIndexServiceImpl(goodDAO);
+
+        index.warmUp();
+
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+
+        while (!index.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertTrue("Index did not warm up", index.isReady());
+
+        double buildSeconds = (System.nanoTime() - buildStart) / 1e9;
+        long indexHeap = getUsedHeap() - heapBefore;
+
+        LOGGER.info(String.format("Index over %d goods built in %.1f s, retains about %d MB of heap",
+                GOODS + 14, buildSeconds, indexHeap / (1024 * 1024)));
+        LOGGER.info(String.format("%-24s %16s %16s", "query", "index, us", "database, us"));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.setReadOnly(true);
+
+        for (String search : SEARCHES) {
+            double indexCost = measure(INDEX_REPETITIONS, i -> index.search("title", search, "default", "asc"));
+            double databaseCost = measure(DATABASE_REPETITIONS, i -> transaction.executeWithoutResult(status -> {
+                PageCriteria criteria = new PageCriteria("title", search, "default", "asc", PAGE_SIZE, 1, null);
+
+                goodDAO.getPage(criteria);
+                goodDAO.getCount(criteria);
+            }));
+
+            LOGGER.info(String.format("%-24s %16.1f %16.1f", "title ~ '" + search + "'", indexCost, databaseCost));
+        }
+
+        double findIdCost = measure(INDEX_REPETITIONS, i -> {
+            long id = randomId();
+
+            index.findId(getTitle(id), MoneyUtil.toCents(getPrice(id)));
+        });
+        double getByTitleAndPriceCost = measure(INDEX_REPETITIONS, i -> {
+            long id = randomId();
+
+            entityManagerFactory.getCache().evictAll();
+            transaction.executeWithoutResult(status -> goodDAO.getByTitleAndPrice(getTitle(id), getPrice(id)));
+        });
+
+        LOGGER.info(String.format("%-24s %16.1f %16.1f", "title and price", findIdCost, getByTitleAndPriceCost));
+    }
+
+    private double measure(int repetitions, IntConsumer action) {
+        for (int i = 0; i < repetitions / 10; i++) {
+            action.accept(i);
+        }
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < repetitions; i++) {
+            action.accept(i);
+        }
+
+        return (System.nanoTime() - startTime) / 1_000.0 / repetitions;
+    }
+
+    private long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private long randomId() {
+        return FIRST_ID + ThreadLocalRandom.current().nextInt(GOODS);
+    }
+
+    private String getTitle(long id) {
+        String colour = COLOURS[(int) (id % COLOURS.length)];
+        String name = NAMES[(int) (id % NAMES.length)];
+
+        return Character.toUpperCase(colour.charAt(0)) + colour.substring(1) + " "
+                + Character.toUpperCase(name.charAt(0)) + name.substring(1) + " " + id;
+    }
+
+    private BigDecimal getPrice(long id) {
+        return BigDecimal.valueOf(id % 1000).add(new BigDecimal("0.99"));
+    }
+}
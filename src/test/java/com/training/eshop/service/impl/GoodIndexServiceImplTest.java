@@ -0,0 +1,87 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.model.Good;
+import com.training.eshop.service.GoodIndexService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GoodIndexServiceImplTest extends AbstractDatabaseTest {
+
+    private static final long FIRST_ID = 9_000_000L;
+    private static final long SECOND_ID = 9_000_001L;
+    private static final String TITLE = "Zebra notebook";
+    private static final BigDecimal PRICE = new BigDecimal("7.25");
+    private static final long READY_TIMEOUT_MS = 30_000L;
+
+    @Autowired
+    private GoodIndexService goodIndexService;
+
+    @Before
+    public void waitUntilReady() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+
+        while (!goodIndexService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(goodIndexService.isReady());
+    }
+
+    @After
+    public void removeGoods() {
+        goodIndexService.remove(FIRST_ID);
+        goodIndexService.remove(SECOND_ID);
+    }
+
+    @Test
+    public void findsLowestIdAmongGoodsWithSameTitleAndPrice() {
+        goodIndexService.index(createGood(SECOND_ID));
+        goodIndexService.index(createGood(FIRST_ID));
+
+        assertEquals(Optional.of(FIRST_ID), goodIndexService.findId(TITLE, 725));
+
+        goodIndexService.remove(FIRST_ID);
+
+        assertEquals(Optional.of(SECOND_ID), goodIndexService.findId(TITLE, 725));
+
+        goodIndexService.remove(SECOND_ID);
+
+        assertEquals(Optional.empty(), goodIndexService.findId(TITLE, 725));
+    }
+
+    @Test
+    public void searchesIndexedTitles() {
+        goodIndexService.index(createGood(SECOND_ID));
+        goodIndexService.index(createGood(FIRST_ID));
+
+        assertEquals(Optional.of(Arrays.asList(FIRST_ID, SECOND_ID)),
+                goodIndexService.search("title", "zebra", "id", "asc"));
+
+        goodIndexService.remove(FIRST_ID);
+
+        assertEquals(Optional.of(Collections.singletonList(SECOND_ID)),
+                goodIndexService.search("title", "zebra", "id", "asc"));
+    }
+
+    private Good createGood(long id) {
+        Good good = new Good();
+
+        good.setId(id);
+        good.setTitle(TITLE);
+        good.setPrice(PRICE);
+        good.setDescription("Striped cover");
+
+        return good;
+    }
+}
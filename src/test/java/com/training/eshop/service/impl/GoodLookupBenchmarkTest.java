@@ -0,0 +1,139 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.Benchmark;
+import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.model.Good;
+import com.training.eshop.util.MoneyUtil;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the title and price lookup behind every cart change: the removed string matching over the loaded
+ * catalogue against the (title, cents) map of {@link GoodIndexServiceImpl}. Only the in-memory part is measured;
+ * the old path also loaded every good from the database first.
+ */
+@Category(Benchmark.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(0)
+public class GoodLookupBenchmarkTest {
+
+    private static final String DOT = ".";
+    private static final String ZERO = "0";
+    private static final String TWO_ZEROS_LEFT = ".00";
+    private static final int QUERIES = 1024;
+
+    @Param({"100", "10000", "100000"})
+    private int catalogueSize;
+
+    private List<Good> catalogue;
+    private GoodIndexServiceImpl goodIndexService;
+    private String[] titles;
+    private String[] dropMenuPrices;
+    private int next;
+
+    @Test
+    public void compareLookups() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GoodLookupBenchmarkTest.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        catalogue = new ArrayList<>();
+        goodIndexService = new GoodIndexServiceImpl(createEmptyGoodDAO());
+
+        goodIndexService.warmUp();
+
+        while (!goodIndexService.isReady()) {
+            Thread.sleep(10);
+        }
+
+        for (long id = 1; id <= catalogueSize; id++) {
+            Good good = new Good();
+
+            good.setId(id);
+            good.setTitle("Good " + id % 500);
+            good.setPrice(BigDecimal.valueOf(id * 5, 1).setScale(2));
+            good.setDescription("Description " + id);
+
+            catalogue.add(good);
+            goodIndexService.index(good);
+        }
+
+        titles = new String[QUERIES];
+        dropMenuPrices = new String[QUERIES];
+
+        for (int i = 0; i < QUERIES; i++) {
+            Good good = catalogue.get((int) ((i * 7919L) % catalogueSize));
+
+            titles[i] = good.getTitle();
+            dropMenuPrices[i] = good.getPrice().stripTrailingZeros().toPlainString();
+        }
+    }
+
+    @org.openjdk.jmh.annotations.Benchmark
+    public Optional<Good> stringMatching() {
+        int query = nextQuery();
+        String title = titles[query];
+        String price = dropMenuPrices[query];
+
+        return catalogue.stream()
+                .filter(good -> title.equals(good.getTitle())
+                        && getPriceFromDropMenu(price).equals(String.valueOf(good.getPrice())))
+                .findAny();
+    }
+
+    @org.openjdk.jmh.annotations.Benchmark
+    public Optional<Long> indexLookup() {
+        int query = nextQuery();
+
+        return goodIndexService.findId(titles[query], MoneyUtil.toCents(new BigDecimal(dropMenuPrices[query])));
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+
+        return next;
+    }
+
+    private static String getPriceFromDropMenu(String price) {
+        if (price.contains(DOT)) {
+            return price.substring(price.indexOf(DOT) + 1).length() > 1 ? price : price + ZERO;
+        }
+
+        return price + TWO_ZEROS_LEFT;
+    }
+
+    private static GoodDAO createEmptyGoodDAO() {
+        return (GoodDAO) Proxy.newProxyInstance(GoodDAO.class.getClassLoader(), new Class<?>[]{GoodDAO.class},
+                (proxy, method, args) -> Collections.emptyList());
+    }
+}
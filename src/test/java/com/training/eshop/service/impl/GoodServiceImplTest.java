@@ -0,0 +1,35 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.exception.ProductNotFoundException;
+import com.training.eshop.service.GoodService;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+public class GoodServiceImplTest extends AbstractDatabaseTest {
+
+    private static final String BOOK = "Book";
+    private static final long BOOK_ID = 1L;
+
+    @Autowired
+    private GoodService goodService;
+
+    @Test
+    public void findsGoodByExactPrice() {
+        assertEquals(BOOK_ID, (long) goodService.getByTitleAndPrice(BOOK, new BigDecimal("5.50")).getId());
+    }
+
+    @Test(expected = ProductNotFoundException.class)
+    public void doesNotRoundSubCentPrice() {
+        goodService.getByTitleAndPrice(BOOK, new BigDecimal("5.495"));
+    }
+
+    @Test(expected = ProductNotFoundException.class)
+    public void rejectsOutOfRangePrice() {
+        goodService.getByTitleAndPrice(BOOK, new BigDecimal("1E+30"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.service.InventoryService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InventoryServiceImplStressTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(InventoryServiceImplStressTest.class.getName());
+
+    private static final long GOOD_ID = 9_100_000L;
+    private static final int STOCK = 1_000;
+    private static final int THREADS = 200;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Before
+    public void createGood() {
+        jdbcTemplate.update("insert into goods(id, title, price, quantity, description, deleted) "
+                + "values (?, 'Stress good', 1, ?, 'Reserved concurrently', false)", GOOD_ID, STOCK);
+    }
+
+    @After
+    public void removeGood() {
+        jdbcTemplate.update("delete from goods where id = ?", GOOD_ID);
+    }
+
+    @Test
+    public void neverReservesMoreThanStockUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    if (inventoryService.reserve(GOOD_ID, 1L)) {
+                        reserved.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+
+        LOGGER.info(String.format("%d threads made %d reservation attempts on one good in %.2f s: %.0f attempts/s, "
+                + "%d reserved, %d rejected", THREADS, attempts, seconds, attempts / seconds, reserved.get(),
+                rejected.get()));
+
+        assertEquals(STOCK, reserved.get());
+        assertEquals(attempts - STOCK, rejected.get());
+        assertEquals(Long.valueOf(0), jdbcTemplate.queryForObject("select quantity from goods where id = ?",
+                Long.class, GOOD_ID));
+    }
+}
@@ -0,0 +1,180 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.dao.GoodDAO;
+import com.training.eshop.dto.GoodBuyerDto;
+import com.training.eshop.dto.OrderBuyerDto;
+import com.training.eshop.dto.OrderAdminViewDto;
+import com.training.eshop.dto.PageDto;
+import com.training.eshop.service.CartService;
+import com.training.eshop.service.GoodIndexService;
+import com.training.eshop.service.InventoryService;
+import com.training.eshop.service.OrderService;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderServiceImplTest extends AbstractDatabaseTest {
+
+    private static final String LOGIN = "cart_test@yopmail.com";
+    private static final long BEER_ID = 5L;
+    private static final long BEER_QUANTITY = 10L;
+    private static final GoodBuyerDto BEER = new GoodBuyerDto("Beer", new BigDecimal("1.5"));
+    private static final long PETER_ID = 2L;
+    private static final List<Long> UNNAMED_USER_IDS = Arrays.asList(900001L, 900002L, 900003L);
+    private static final List<Long> ORDER_IDS = Arrays.asList(900011L, 900012L, 900013L, 900014L);
+    private static final int PAGE_SIZE = 2;
+    private static final String OTHER_LOGIN = "other_cart_test@yopmail.com";
+    private static final long LAST_UNIT_GOOD_ID = 9_200_000L;
+    private static final GoodBuyerDto LAST_UNIT_GOOD = new GoodBuyerDto("Last unit", new BigDecimal("3.00"));
+    private static final long READY_TIMEOUT_MS = 60_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private GoodIndexService goodIndexService;
+
+    @Autowired
+    private GoodDAO goodDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @After
+    public void restoreStock() {
+        cartService.clear(LOGIN);
+
+        jdbcTemplate.update("update goods set quantity = ? where id = ?", BEER_QUANTITY, BEER_ID);
+    }
+
+    @Test
+    public void keepsCartEmptyWhenAddingIsRolledBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderService.addGoodToOrder(BEER, LOGIN);
+
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, cartService.getGoods(LOGIN).size());
+        assertEquals(BEER_QUANTITY, getBeerQuantity());
+    }
+
+    @Test
+    public void returnsGoodToCartWhenRemovingIsRolledBack() {
+        orderService.addGoodToOrder(BEER, LOGIN);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderService.deleteGoodFromOrder(BEER, LOGIN);
+
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, cartService.getGoods(LOGIN).size());
+        assertEquals(BEER_QUANTITY - 1, getBeerQuantity());
+    }
+
+    @Test
+    public void pagesThroughOrdersOfUnnamedUsersByUser() {
+        List<Long> userIds = new ArrayList<>(UNNAMED_USER_IDS);
+
+        userIds.add(PETER_ID);
+
+        try {
+            for (Long userId : UNNAMED_USER_IDS) {
+                jdbcTemplate.update("insert into users (id, name, password, email, role) "
+                        + "values (?, null, ?, ?, 'ROLE_BUYER')", userId, "password" + userId,
+                        "unnamed" + userId + "@yopmail.com");
+            }
+
+            for (int i = 0; i < ORDER_IDS.size(); i++) {
+                jdbcTemplate.update("insert into orders (id, total_price, description, user_id) values (?, 1, '', ?)",
+                        ORDER_IDS.get(i), userIds.get(i));
+            }
+
+            List<Long> pagedIds = new ArrayList<>();
+            PageDto<OrderAdminViewDto> page = orderService.getAll("user", "asc", PAGE_SIZE, 1, null);
+
+            pagedIds.addAll(getIds(page));
+
+            while (page.getNextCursor() != null) {
+                page = orderService.getAll("user", "asc", PAGE_SIZE, 1, page.getNextCursor());
+
+                pagedIds.addAll(getIds(page));
+            }
+
+            assertEquals(page.getTotalElements(), pagedIds.size());
+            assertTrue(pagedIds.containsAll(ORDER_IDS));
+        } finally {
+            jdbcTemplate.update("delete from orders where id between ? and ?", ORDER_IDS.get(0),
+                    ORDER_IDS.get(ORDER_IDS.size() - 1));
+            jdbcTemplate.update("delete from users where id between ? and ?", UNNAMED_USER_IDS.get(0),
+                    UNNAMED_USER_IDS.get(UNNAMED_USER_IDS.size() - 1));
+        }
+    }
+
+    @Test
+    public void sellsReleasedLastUnitAfterSoldOutSweep() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+
+        while (!goodIndexService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        jdbcTemplate.update("insert into goods(id, title, price, quantity, description, deleted) "
+                + "values (?, ?, ?, 1, 'The only one', false)", LAST_UNIT_GOOD_ID, LAST_UNIT_GOOD.getTitle(),
+                LAST_UNIT_GOOD.getPrice());
+
+        try {
+            goodIndexService.index(goodDAO.getById(LAST_UNIT_GOOD_ID));
+
+            orderService.addGoodToOrder(LAST_UNIT_GOOD, LOGIN);
+            orderService.updateDataAfterPlacingOrder(new OrderBuyerDto(), OTHER_LOGIN);
+
+            assertFalse(goodIndexService.findId(LAST_UNIT_GOOD.getTitle(), 300).isPresent());
+
+            inventoryService.releaseAll(cartService.clear(LOGIN));
+
+            assertEquals(Optional.of(LAST_UNIT_GOOD_ID), goodIndexService.findId(LAST_UNIT_GOOD.getTitle(), 300));
+
+            orderService.addGoodToOrder(LAST_UNIT_GOOD, OTHER_LOGIN);
+
+            assertEquals(1, cartService.getGoods(OTHER_LOGIN).size());
+        } finally {
+            cartService.clear(OTHER_LOGIN);
+            goodIndexService.remove(LAST_UNIT_GOOD_ID);
+
+            jdbcTemplate.update("delete from goods where id = ?", LAST_UNIT_GOOD_ID);
+        }
+    }
+
+    private List<Long> getIds(PageDto<OrderAdminViewDto> page) {
+        List<Long> ids = new ArrayList<>();
+
+        page.getContent().forEach(order -> ids.add(order.getId()));
+
+        return ids;
+    }
+
+    private long getBeerQuantity() {
+        return jdbcTemplate.queryForObject("select quantity from goods where id = ?", Long.class, BEER_ID);
+    }
+}
@@ -0,0 +1,141 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.service.EmailService;
+import com.training.eshop.service.GoodIndexService;
+import com.training.eshop.service.GoodService;
+import com.training.eshop.service.OrderService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.internet.MimeMessage;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Counts the SQL statements behind each read endpoint with a cold second-level cache, so that a lost fetch
+ * graph or projection shows up as N+1 selects.
+ */
+@ContextConfiguration(classes = StatementCountTest.NoMailConfig.class)
+public class StatementCountTest extends AbstractDatabaseTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(StatementCountTest.class.getName());
+
+    private static final long FIRST_ORDER_ID = 9_300_000L;
+    private static final int ORDERS = 20;
+    private static final int GOODS_PER_ORDER = 3;
+    private static final long BUYER_ID = 2L;
+    private static final String BUYER_LOGIN = "peter_mogilev@yopmail.com";
+    private static final int PAGE_SIZE = 25;
+    private static final long READY_TIMEOUT_MS = 30_000L;
+
+    @Autowired
+    private GoodService goodService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private GoodIndexService goodIndexService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void statisticsProperties(DynamicPropertyRegistry registry) {
+        registry.add("hibernate.generate_statistics", () -> "true");
+    }
+
+    @Before
+    public void createOrders() throws InterruptedException {
+        jdbcTemplate.update("insert into orders(id, total_price, description, user_id) select id, 10, "
+                + "'Statement count order', ? from generate_series(?, ?) id", BUYER_ID, FIRST_ORDER_ID,
+                FIRST_ORDER_ID + ORDERS - 1);
+        jdbcTemplate.update("insert into order_good(order_id, good_id) select o.id, g.id "
+                + "from generate_series(?, ?) o(id) cross join generate_series(1, ?) g(id)", FIRST_ORDER_ID,
+                FIRST_ORDER_ID + ORDERS - 1, GOODS_PER_ORDER);
+
+        // the index warm-up reads goods in the background and would be counted too
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+
+        while (!goodIndexService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    @After
+    public void removeOrders() {
+        jdbcTemplate.update("delete from order_good where order_id >= ?", FIRST_ORDER_ID);
+        jdbcTemplate.update("delete from orders where id >= ?", FIRST_ORDER_ID);
+    }
+
+    @Test
+    public void readEndpointsUseBoundedStatements() {
+        long buyerCatalogue = count(() -> goodService.getAllForBuyer());
+        long adminGoods = count(() -> goodService.getAllForAdmin("default", "", "default", "asc", PAGE_SIZE, 1,
+                null));
+        long adminOrders = count(() -> orderService.getAll("default", "asc", PAGE_SIZE, 1, null));
+        long orderDetails = count(() -> orderService.getById(FIRST_ORDER_ID));
+        long orderEmail = count(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> emailService.sendOrderDetailsMessage(FIRST_ORDER_ID, BUYER_LOGIN)));
+
+        LOGGER.info(String.format("SQL statements per call: buyer catalogue %d, admin goods page %d, "
+                        + "admin orders page %d, order details %d, order e-mail %d", buyerCatalogue, adminGoods,
+                adminOrders, orderDetails, orderEmail));
+
+        assertTrue(buyerCatalogue <= 1);
+        assertTrue(adminGoods <= 2);
+        assertTrue(adminOrders <= 2);
+        assertTrue(orderDetails <= 1);
+        assertTrue(orderEmail <= 3);
+    }
+
+    private long count(Runnable endpoint) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics.clear();
+
+        endpoint.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Configuration
+    static class NoMailConfig {
+
+        @Bean
+        @Primary
+        public JavaMailSender discardingMailSender() {
+            return new JavaMailSenderImpl() {
+                @Override
+                protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                }
+            };
+        }
+    }
+}
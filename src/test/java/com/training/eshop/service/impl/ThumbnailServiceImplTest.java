@@ -0,0 +1,134 @@
+package com.training.eshop.service.impl;
+
+import com.training.eshop.AbstractDatabaseTest;
+import com.training.eshop.dto.AttachmentDto;
+import com.training.eshop.exception.AttachmentNotFoundException;
+import com.training.eshop.metrics.ThumbnailMetrics;
+import com.training.eshop.model.enums.AttachmentType;
+import com.training.eshop.service.ThumbnailService;
+import com.training.eshop.storage.AttachmentStorage;
+import com.training.eshop.storage.StoredContent;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ThumbnailServiceImplTest extends AbstractDatabaseTest {
+
+    private static final String THUMBNAIL_VARIANT = "thumbnail.png";
+    private static final String THUMBNAIL_FAILED_VARIANT = "thumbnail.failed";
+    private static final String THUMBNAIL_NOT_READY = "Preview of this file is not ready yet";
+    private static final String THUMBNAIL_NOT_AVAILABLE = "Preview of this file could not be generated";
+    private static final byte[] BROKEN_PNG = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 0x00, 0x01};
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final long SETTLE_MILLIS = 500;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private ThumbnailMetrics thumbnailMetrics;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    private AttachmentDto attachmentDto;
+
+    @After
+    public void removeContent() throws IOException {
+        attachmentStorage.delete(attachmentDto.getPath());
+    }
+
+    @Test
+    public void stopsResubmittingUndecodableImage() throws Exception {
+        attachmentDto = store(BROKEN_PNG);
+
+        long failedThumbnails = thumbnailMetrics.getFailedThumbnails();
+
+        assertEquals(THUMBNAIL_NOT_READY, getThumbnailError());
+
+        waitFor(() -> attachmentStorage.exists(getVariantPath(THUMBNAIL_FAILED_VARIANT)));
+
+        assertEquals(THUMBNAIL_NOT_AVAILABLE, getThumbnailError());
+        assertEquals(THUMBNAIL_NOT_AVAILABLE, getThumbnailError());
+
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(failedThumbnails + 1, thumbnailMetrics.getFailedThumbnails());
+    }
+
+    @Test
+    public void storesNoVariantOfRemovedContent() throws Exception {
+        attachmentDto = store(createPng());
+
+        attachmentStorage.delete(attachmentDto.getPath());
+
+        long failedThumbnails = thumbnailMetrics.getFailedThumbnails();
+
+        thumbnailService.generateAfterCommit(attachmentDto.getPath(), attachmentDto.getContentType());
+
+        waitFor(() -> thumbnailMetrics.getFailedThumbnails() > failedThumbnails);
+
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertFalse(attachmentStorage.exists(getVariantPath(THUMBNAIL_VARIANT)));
+        assertFalse(attachmentStorage.exists(getVariantPath(THUMBNAIL_FAILED_VARIANT)));
+    }
+
+    private String getThumbnailError() throws IOException {
+        try {
+            thumbnailService.getThumbnail(attachmentDto).close();
+
+            fail("Thumbnail must not be available");
+
+            return null;
+        } catch (AttachmentNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String getVariantPath(String variant) {
+        return attachmentStorage.getVariantPath(attachmentDto.getPath(), variant);
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition was not met in time", System.currentTimeMillis() < deadline);
+
+            Thread.sleep(10);
+        }
+    }
+
+    private AttachmentDto store(byte[] bytes) throws IOException {
+        StoredContent content = attachmentStorage.store(new ByteArrayInputStream(bytes));
+        AttachmentDto stored = new AttachmentDto();
+
+        stored.setPath(content.getPath());
+        stored.setHash(content.getHash());
+        stored.setSize(content.getSize());
+        stored.setContentType(AttachmentType.PNG.getContentType());
+
+        return stored;
+    }
+
+    private byte[] createPng() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+
+        return outputStream.toByteArray();
+    }
+}
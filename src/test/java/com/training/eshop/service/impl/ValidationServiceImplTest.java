@@ -0,0 +1,59 @@
+package com.training.eshop.service.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ValidationServiceImplTest {
+
+    private static final String NO_ERROR = "";
+
+    private final ValidationServiceImpl validationService = new ValidationServiceImpl();
+
+    @Test
+    public void acceptsMissingGoodCursor() {
+        assertEquals(NO_ERROR, validationService.getWrongGoodCursorError(null, "price"));
+    }
+
+    @Test
+    public void acceptsGoodCursorsProducedByEverySortField() {
+        assertEquals(NO_ERROR, validationService.getWrongGoodCursorError("Book, 2nd edition,1", "title"));
+        assertEquals(NO_ERROR, validationService.getWrongGoodCursorError("15.50,3", "price"));
+        assertEquals(NO_ERROR, validationService.getWrongGoodCursorError("3,3", "id"));
+    }
+
+    @Test
+    public void rejectsNonNumericPriceKey() {
+        assertNotEquals(NO_ERROR, validationService.getWrongGoodCursorError("abc,5", "price"));
+    }
+
+    @Test
+    public void ignoresKeyOfIdSort() {
+        assertEquals(NO_ERROR, validationService.getWrongGoodCursorError("abc,5", "id"));
+    }
+
+    @Test
+    public void rejectsIdThatDoesNotFitLong() {
+        assertNotEquals(NO_ERROR, validationService.getWrongGoodCursorError("Book,99999999999999999999", "title"));
+    }
+
+    @Test
+    public void acceptsOrderCursorsProducedByEverySortField() {
+        assertEquals(NO_ERROR, validationService.getWrongOrderCursorError("120.00,7", "totalPrice"));
+        assertEquals(NO_ERROR, validationService.getWrongOrderCursorError("Peter,7", "user"));
+        assertEquals(NO_ERROR, validationService.getWrongOrderCursorError(",7", "user"));
+        assertEquals(NO_ERROR, validationService.getWrongOrderCursorError("7,7", "id"));
+    }
+
+    @Test
+    public void rejectsNonNumericTotalPriceKey() {
+        assertNotEquals(NO_ERROR, validationService.getWrongOrderCursorError("abc,5", "totalPrice"));
+        assertNotEquals(NO_ERROR, validationService.getWrongOrderCursorError(",5", "totalPrice"));
+    }
+
+    @Test
+    public void ignoresKeyOfOrderIdSort() {
+        assertEquals(NO_ERROR, validationService.getWrongOrderCursorError("abc,5", "id"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.training.eshop.storage.impl;
+
+import com.training.eshop.storage.StoredContent;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class FileSystemAttachmentStorageTest {
+
+    private static final byte[] CONTENT = "duplicated content".getBytes(StandardCharsets.UTF_8);
+    private static final long LAST_MODIFIED = 1_000_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void keepsAlreadyStoredContentUntouched() throws IOException {
+        Path root = temporaryFolder.getRoot().toPath();
+        FileSystemAttachmentStorage storage = new FileSystemAttachmentStorage(root.toString());
+
+        StoredContent stored = storage.store(new ByteArrayInputStream(CONTENT));
+
+        Files.setLastModifiedTime(root.resolve(stored.getPath()), FileTime.fromMillis(LAST_MODIFIED));
+
+        StoredContent duplicate = storage.store(new ByteArrayInputStream(CONTENT));
+
+        assertEquals(stored.getPath(), duplicate.getPath());
+        assertEquals(CONTENT.length, duplicate.getSize());
+        assertEquals(LAST_MODIFIED, storage.getLastModified(duplicate.getPath()));
+
+        try (Stream<Path> tempFiles = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, tempFiles.count());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.training.eshop.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class MoneyUtilTest {
+
+    @Test
+    public void convertsPricesWithAtMostTwoDecimals() {
+        assertEquals(Optional.of(1235L), MoneyUtil.toExactCents(new BigDecimal("12.35")));
+        assertEquals(Optional.of(1230L), MoneyUtil.toExactCents(new BigDecimal("12.300")));
+        assertEquals(Optional.of(1200L), MoneyUtil.toExactCents(new BigDecimal("1.2E+1")));
+    }
+
+    @Test
+    public void rejectsSubCentPrices() {
+        assertEquals(Optional.empty(), MoneyUtil.toExactCents(new BigDecimal("12.345")));
+        assertEquals(Optional.empty(), MoneyUtil.toExactCents(new BigDecimal("1E-1000000000")));
+    }
+
+    @Test
+    public void rejectsOutOfRangePrices() {
+        assertEquals(Optional.empty(), MoneyUtil.toExactCents(new BigDecimal("99999999999999999999")));
+        assertEquals(Optional.empty(), MoneyUtil.toExactCents(new BigDecimal("1E+1000000000")));
+    }
+}